@@ -20,13 +20,10 @@ USE TESTDB;
 GO
 
 -- ========================================
--- Note: Tables will be auto-created by Hibernate
--- based on JPA entities when application starts
+-- Note: Tables and indexes are created by Flyway migrations
+-- (src/main/resources/db/migration/sqlserver) when the application starts
 -- ========================================
 
--- Optional: Create tables manually if needed
--- (Spring Boot will auto-create these with spring.jpa.hibernate.ddl-auto=update)
-
 -- Sample data for testing (Optional)
 -- You can insert this data after the application creates the tables
 
@@ -52,7 +49,7 @@ VALUES
 */
 
 PRINT 'Database setup complete.';
-PRINT 'Start the Spring Boot application to auto-create tables.';
+PRINT 'Start the Spring Boot application to run the schema migrations.';
 GO
 
 -- ========================================
@@ -0,0 +1,132 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Concurrency benchmark for the integration endpoints. For each client concurrency, that
+ * many clients call GET /api/integration/external-post/{id} in a closed loop for the
+ * measured period, so each request holds an upstream call open for the stub's latency.
+ * Reports completed requests/sec, p50 and p99 latency, failed requests (non-200 or
+ * transport errors) and the server's peak thread count, sampled from /proc.
+ *
+ * Usage: java scripts/AsyncIntegrationBenchmark.java <baseUrl> <label> <serverPid> [seconds] [concurrencies]
+ * e.g.   java scripts/AsyncIntegrationBenchmark.java http://localhost:18080 async 1234 15 50,200,1000
+ */
+public class AsyncIntegrationBenchmark {
+
+    private static final int POSTS = 100;
+
+    private static HttpClient client;
+    private static String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        baseUrl = args[0];
+        String label = args[1];
+        long serverPid = Long.parseLong(args[2]);
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        String[] concurrencies = (args.length > 4 ? args[4] : "50,200,1000").split(",");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        for (String count : concurrencies) {
+            int clients = Integer.parseInt(count.trim());
+            run(clients, 3, serverPid);
+            Result result = run(clients, seconds, serverPid);
+            System.out.printf("%-24s %8d %12.1f %10.1f %10.1f %8d %10s%n",
+                    label,
+                    clients,
+                    result.completed / (double) seconds,
+                    result.p50Millis,
+                    result.p99Millis,
+                    result.failed,
+                    result.peakThreads > 0 ? String.valueOf(result.peakThreads) : "-");
+        }
+    }
+
+    private record Result(long completed, long failed, double p50Millis, double p99Millis, int peakThreads) {
+    }
+
+    private static Result run(int clients, int seconds, long serverPid) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            int worker = i;
+            Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1 << 10];
+                int n = 0;
+                int postId = worker % POSTS + 1;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/integration/external-post/" + postId))
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                    postId = postId % POSTS + 1;
+                    long start = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            completed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                latencies[worker] = samples;
+                counts[worker] = n;
+                done.countDown();
+            });
+        }
+
+        int peakThreads = 0;
+        while (!done.await(200, java.util.concurrent.TimeUnit.MILLISECONDS)) {
+            peakThreads = Math.max(peakThreads, threads(serverPid));
+        }
+
+        long[] all = IntStream.range(0, clients)
+                .mapToObj(i -> Arrays.copyOf(latencies[i], counts[i]))
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        return new Result(completed.get(), failed.get(), percentile(all, 0.50), percentile(all, 0.99), peakThreads);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted.length > 0
+                ? sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1_000_000.0
+                : 0;
+    }
+
+    // Linux only; 0 elsewhere
+    private static int threads(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+                if (line.startsWith("Threads:")) {
+                    return Integer.parseInt(line.substring("Threads:".length()).trim());
+                }
+            }
+        } catch (Exception e) {
+            // not available
+        }
+        return 0;
+    }
+}
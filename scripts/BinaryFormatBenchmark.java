@@ -0,0 +1,153 @@
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.maybank.assessment.config.ResponseSerializersModule;
+import com.maybank.assessment.dto.OrderLineResponse;
+import com.maybank.assessment.dto.OrderResponse;
+import com.maybank.assessment.dto.OrderSummaryResponse;
+import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.entity.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Wire format benchmark: JSON against the CBOR and Smile encodings served for
+ * application/vnd.maybank.v1+cbor and application/vnd.maybank.v1+smile. All three
+ * mappers carry the same modules as the application (java.time and
+ * ResponseSerializersModule). For each response the table shows bytes on the wire and
+ * the median time to encode it and to decode it back into the DTO, the way an internal
+ * client would.
+ *
+ * Usage: java -cp target/classes:<dependency classpath> scripts/BinaryFormatBenchmark.java [iterations] [iterationMillis]
+ * (scripts/binary-format-benchmark.sh builds the classpath).
+ */
+public class BinaryFormatBenchmark {
+
+    /** Client-side view of the page envelope. */
+    public record PageOf<T>(List<T> content, Map<String, Object> page) {
+    }
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", configure(JsonMapper.builder().build()));
+        mappers.put("cbor", configure(CBORMapper.builder().build()));
+        mappers.put("smile", configure(SmileMapper.builder().build()));
+
+        LocalDateTime now = LocalDateTime.of(2025, 11, 24, 10, 30, 15, 123_456_000);
+        List<ProductResponse> products = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            products.add(new ProductResponse((long) i, "Product " + i, "Description of product " + i,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(i)), 100 + i, "category-" + i % 5, true, now, now, 3L));
+        }
+        List<OrderLineResponse> lines = List.of(
+                new OrderLineResponse(1L, products.get(0), 2, products.get(0).getPrice(), new BigDecimal("41.98")),
+                new OrderLineResponse(2L, products.get(1), 1, products.get(1).getPrice(), products.get(1).getPrice()),
+                new OrderLineResponse(3L, products.get(2), 5, products.get(2).getPrice(), new BigDecimal("114.95")));
+        OrderResponse order = new OrderResponse(42L, "ORD-1732444215123-1A2B3C4D", "Jane Customer",
+                "jane@example.com", null, 8, lines, new BigDecimal("177.91"), Order.OrderStatus.PENDING,
+                "Leave at reception", now, now, 1L);
+        List<OrderSummaryResponse> summaries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            summaries.add(new OrderSummaryResponse(1000L - i, 1 + i % 4, new BigDecimal("25.50"),
+                    Order.OrderStatus.values()[i % 6], now.minusHours(i)));
+        }
+
+        ObjectMapper types = mappers.get("json");
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, JavaType> valueTypes = new LinkedHashMap<>();
+        values.put("product", products.get(0));
+        valueTypes.put("product", types.constructType(ProductResponse.class));
+        values.put("order (3 lines)", order);
+        valueTypes.put("order (3 lines)", types.constructType(OrderResponse.class));
+        values.put("product page (20)", new PageImpl<>(products, PageRequest.of(0, 20, Sort.by("name")), 200));
+        valueTypes.put("product page (20)",
+                types.getTypeFactory().constructParametricType(PageOf.class, ProductResponse.class));
+        values.put("history page (20)", new PageImpl<>(summaries, PageRequest.of(0, 20), 350));
+        valueTypes.put("history page (20)",
+                types.getTypeFactory().constructParametricType(PageOf.class, OrderSummaryResponse.class));
+
+        System.out.printf("%-20s %-6s %8s %14s %14s%n", "case", "format", "bytes", "encode ns", "decode ns");
+        for (String name : values.keySet()) {
+            Object value = values.get(name);
+            JavaType type = valueTypes.get(name);
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                ObjectMapper om = mapper.getValue();
+                byte[] encoded = om.writeValueAsBytes(value);
+                Object decoded = om.readValue(encoded, type);
+                if (decoded instanceof PageOf<?> page ? page.content().size() != 20 : !decoded.equals(value)) {
+                    throw new IllegalStateException(mapper.getKey() + " did not round-trip " + name);
+                }
+                double[] encode = measure(() -> {
+                    try {
+                        return om.writeValueAsBytes(value);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, iterations, iterationMillis);
+                double[] decode = measure(() -> {
+                    try {
+                        return om.readValue(encoded, type);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, iterations, iterationMillis);
+                System.out.printf("%-20s %-6s %8d %14.0f %14.0f%n", name, mapper.getKey(), encoded.length,
+                        encode[encode.length / 2], decode[decode.length / 2]);
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .registerModule(new ResponseSerializersModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Runs one warm-up iteration per measured iteration, then returns the sorted
+     * nanoseconds per operation of each measured iteration.
+     */
+    private static double[] measure(Supplier<?> operation, int iterations, long iterationMillis) {
+        double[] results = new double[iterations];
+        for (int i = 0; i < iterations * 2; i++) {
+            long deadline = System.nanoTime() + iterationMillis * 1_000_000L;
+            long operations = 0;
+            long start = System.nanoTime();
+            long end;
+            do {
+                for (int batch = 0; batch < 100; batch++) {
+                    sink += operation.get().hashCode();
+                }
+                operations += 100;
+                end = System.nanoTime();
+            } while (end < deadline);
+            if (i >= iterations) {
+                results[i - iterations] = (end - start) / (double) operations;
+            }
+        }
+        Arrays.sort(results);
+        return results;
+    }
+}
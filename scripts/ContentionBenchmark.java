@@ -0,0 +1,163 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Write-contention benchmark for optimistic locking and sharded inventory. For each shard
+ * count (0 = unsharded) and writer count, all writers place single-unit orders against
+ * one hot product for the measured period; the server's optimistic.lock.* counters are
+ * read before and after to derive the retry rate. Afterwards the product's stock is
+ * checked against the number of orders created.
+ *
+ * Usage: java scripts/ContentionBenchmark.java <baseUrl> [seconds] [writerCounts] [shardCounts]
+ * e.g.   java scripts/ContentionBenchmark.java http://localhost:18080 15 1,2,4,8,16 0,16
+ */
+public class ContentionBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final Pattern STOCK = Pattern.compile("\"stockQuantity\"\\s*:\\s*(\\d+)");
+    private static final long INITIAL_STOCK = 1_000_000_000L;
+
+    private static HttpClient client;
+    private static String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        baseUrl = args[0];
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        String[] writerCounts = (args.length > 2 ? args[2] : "1,2,4,8,16").split(",");
+        String[] shardCounts = (args.length > 3 ? args[3] : "0").split(",");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        System.out.printf("%-8s %-8s %12s %10s %14s %12s %8s%n",
+                "shards", "writers", "orders/sec", "409 rate", "retries/order", "p99 (ms)", "stock");
+        for (String shardCount : shardCounts) {
+            int shards = Integer.parseInt(shardCount.trim());
+            for (String count : writerCounts) {
+                int writers = Integer.parseInt(count.trim());
+                long productId = createProduct(shards);
+                Result warmup = run(productId, writers, 3);
+
+                double retriesBefore = metric("optimistic.lock.retries");
+                double executionsBefore = metric("optimistic.lock.executions");
+                Result result = run(productId, writers, seconds);
+                double retries = metric("optimistic.lock.retries") - retriesBefore;
+                double executions = metric("optimistic.lock.executions") - executionsBefore;
+
+                long attempts = result.created + result.conflicts;
+                boolean stockMatches = stock(productId) == INITIAL_STOCK - warmup.created - result.created;
+                System.out.printf("%-8d %-8d %12.1f %9.2f%% %14.3f %12.1f %8s%n",
+                        shards,
+                        writers,
+                        result.created / (double) seconds,
+                        attempts > 0 ? 100.0 * result.conflicts / attempts : 0,
+                        executions > 0 ? retries / executions : 0,
+                        result.p99Millis,
+                        stockMatches ? "ok" : "MISMATCH");
+            }
+        }
+    }
+
+    private record Result(long created, long conflicts, double p99Millis) {
+    }
+
+    private static Result run(long productId, int writers, int seconds) throws InterruptedException {
+        String body = "{\"customerName\":\"Bench\",\"customerEmail\":\"bench@example.com\","
+                + "\"productId\":" + productId + ",\"quantity\":1}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        AtomicLong created = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        long[][] latencies = new long[writers][];
+        int[] counts = new int[writers];
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            int writer = i;
+            Thread.ofPlatform().start(() -> {
+                long[] samples = new long[1 << 14];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 201) {
+                            created.incrementAndGet();
+                        } else if (status == 409) {
+                            conflicts.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        // counted as neither created nor conflict
+                    }
+                    if (n == samples.length) {
+                        samples = java.util.Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                latencies[writer] = samples;
+                counts[writer] = n;
+                done.countDown();
+            });
+        }
+        done.await();
+
+        long[] all = java.util.stream.IntStream.range(0, writers)
+                .mapToObj(i -> java.util.Arrays.copyOf(latencies[i], counts[i]))
+                .flatMapToLong(java.util.Arrays::stream)
+                .sorted()
+                .toArray();
+        double p99 = all.length > 0 ? all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1_000_000.0 : 0;
+        return new Result(created.get(), conflicts.get(), p99);
+    }
+
+    private static long createProduct(int shards) throws Exception {
+        String body = "{\"name\":\"Contention " + System.nanoTime() + "\",\"price\":1.00,"
+                + "\"stockQuantity\":" + INITIAL_STOCK + ",\"category\":\"bench\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        Matcher matcher = ID.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Could not create the benchmark product");
+        }
+        long productId = Long.parseLong(matcher.group(1));
+
+        if (shards > 0) {
+            HttpRequest shard = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/products/" + productId + "/stock-shards?shards=" + shards))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            if (client.send(shard, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                throw new IllegalStateException("Could not shard the benchmark product");
+            }
+        }
+        return productId;
+    }
+
+    private static long stock(long productId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + productId)).GET().build();
+        Matcher matcher = STOCK.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static double metric(String name) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create(baseUrl + "/actuator/metrics/" + name + "?tag=operation:order.create")).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return 0;
+        }
+        Matcher matcher = VALUE.matcher(response.body());
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,81 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for JSONPlaceholder (external.api.url) so load tests run without a
+ * network. Serves the same 100 posts as GET /posts and GET /posts/{id}, after a fixed
+ * delay that stands in for upstream latency.
+ *
+ * Usage: java scripts/ExternalApiStub.java [port] [latencyMs]
+ */
+public class ExternalApiStub {
+
+    private static final int POSTS = 100;
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 18090;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 20;
+
+        byte[][] posts = new byte[POSTS + 1][];
+        StringBuilder all = new StringBuilder("[");
+        for (int id = 1; id <= POSTS; id++) {
+            String post = "{\"userId\":" + ((id - 1) / 10 + 1) + ",\"id\":" + id
+                    + ",\"title\":\"post " + id + " title\",\"body\":\"" + "lorem ipsum dolor sit amet ".repeat(6).trim()
+                    + "\"}";
+            posts[id] = post.getBytes(StandardCharsets.UTF_8);
+            all.append(id > 1 ? "," : "").append(post);
+        }
+        byte[] allPosts = all.append("]").toString().getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/posts", exchange -> {
+            try (exchange) {
+                delay(latencyMs);
+                String path = exchange.getRequestURI().getPath();
+                if (path.equals("/posts") || path.equals("/posts/")) {
+                    respond(exchange, 200, allPosts);
+                    return;
+                }
+                int id;
+                try {
+                    id = Integer.parseInt(path.substring("/posts/".length()));
+                } catch (NumberFormatException e) {
+                    id = -1;
+                }
+                if (id >= 1 && id <= POSTS) {
+                    respond(exchange, 200, posts[id]);
+                } else {
+                    respond(exchange, 404, "{}".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.start();
+        System.out.println("External API stub listening on port " + port + " with " + latencyMs + " ms latency");
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void delay(long latencyMs) {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
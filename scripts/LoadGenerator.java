@@ -0,0 +1,93 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used by the benchmark scripts. Each worker sends
+ * GET requests back to back for the warm-up period and then for the measured period.
+ *
+ * Usage: java scripts/LoadGenerator.java <url> [concurrency] [seconds] [warmupSeconds]
+ * Prints one line: requests/sec, error count and latency percentiles.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        run(client, request, concurrency, warmupSeconds, null);
+        long[][] latencies = new long[concurrency][];
+        AtomicLong errors = new AtomicLong();
+        long[] counts = run(client, request, concurrency, seconds, new Recorder(latencies, errors));
+
+        long total = Arrays.stream(counts).sum();
+        long[] all = new long[(int) total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, (int) counts[i]);
+            offset += (int) counts[i];
+        }
+        Arrays.sort(all);
+        System.out.printf("requests/sec=%.1f errors=%d p50=%.2fms p99=%.2fms%n",
+                total / (double) seconds, errors.get(), percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private record Recorder(long[][] latencies, AtomicLong errors) {
+    }
+
+    private static long[] run(HttpClient client, HttpRequest request, int concurrency, int seconds,
+                              Recorder recorder) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[] counts = new long[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            Thread.ofPlatform().start(() -> {
+                long[] samples = new long[1 << 16];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (recorder != null) {
+                        if (!ok) {
+                            recorder.errors().incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                }
+                counts[worker] = n;
+                if (recorder != null) {
+                    recorder.latencies()[worker] = samples;
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        return counts;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,290 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop, mixed-workload load test. Seeds a catalog, hot SKUs and customer order
+ * histories, then drives every endpoint class at its own fixed arrival rate. Latency is
+ * measured from each request's scheduled send time, so when the server falls behind the
+ * queueing delay is reported instead of silently lowering the offered load.
+ *
+ * Writes one tab-separated line per endpoint (target and achieved requests/sec, errors,
+ * p50/p99/p999/max latency) to the report file; when a baseline report is given, the
+ * printed table also shows the change against it.
+ *
+ * Usage: java scripts/LoadTest.java <baseUrl> [totalRate] [seconds] [warmupSeconds] [report] [baseline]
+ */
+public class LoadTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int HOT_SKUS = 5;
+    private static final int CATEGORIES = 10;
+    private static final int CUSTOMERS = 500;
+    private static final int B2B_CUSTOMERS = 5;
+    private static final int SEED_ORDERS = 500;
+    private static final int EXTERNAL_POSTS = 100;
+    private static final String[] KEYWORDS = {"widget", "gadget", "sprocket", "gizmo", "bracket"};
+
+    private static HttpClient client;
+    private static String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        baseUrl = args[0];
+        double totalRate = args.length > 1 ? Double.parseDouble(args[1]) : 100;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        Path report = args.length > 4 ? Path.of(args[4]) : null;
+        Path baseline = args.length > 5 && !args[5].isEmpty() ? Path.of(args[5]) : null;
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        seed();
+
+        List<Workload> workloads = List.of(
+                new Workload("browse", 0.28, LoadTest::browse),
+                new Workload("search", 0.15, LoadTest::search),
+                new Workload("product", 0.15, LoadTest::product),
+                new Workload("checkout", 0.10, LoadTest::checkout),
+                new Workload("basket", 0.05, LoadTest::basket),
+                new Workload("history", 0.10, LoadTest::history),
+                new Workload("customer-orders", 0.05, LoadTest::customerOrders),
+                new Workload("export", 0.02, () -> get("/api/orders")),
+                new Workload("external-posts", 0.05, () -> get("/api/integration/external-posts")),
+                new Workload("product-with-external", 0.05,
+                        () -> get("/api/integration/product-with-external/" + (1 + ThreadLocalRandom.current()
+                                .nextInt(EXTERNAL_POSTS)))));
+
+        System.out.printf("Offering %.0f requests/sec for %d s (after %d s warm-up)%n", totalRate, seconds, warmupSeconds);
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> schedulers = new ArrayList<>();
+            for (Workload workload : workloads) {
+                schedulers.add(Thread.ofPlatform().name("schedule-" + workload.name)
+                        .start(() -> schedule(workload, totalRate * workload.weight, measureStart, end, requests)));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint\ttarget_rps\tachieved_rps\trequests\terrors\tp50_ms\tp99_ms\tp999_ms\tmax_ms");
+        for (Workload workload : workloads) {
+            lines.add(workload.reportLine(totalRate * workload.weight, seconds));
+        }
+        if (report != null) {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.write(report, lines);
+        }
+        print(lines, baseline != null ? readReport(baseline) : Map.of());
+    }
+
+    private static final class Workload {
+        private final String name;
+        private final double weight;
+        private final Supplier<HttpRequest> next;
+        private final AtomicLong errors = new AtomicLong();
+        private long[] latencies = new long[1 << 12];
+        private int count;
+
+        private Workload(String name, double weight, Supplier<HttpRequest> next) {
+            this.name = name;
+            this.weight = weight;
+            this.next = next;
+        }
+
+        private synchronized void record(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        private synchronized String reportLine(double targetRate, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%s\t%.1f\t%.1f\t%d\t%d\t%.2f\t%.2f\t%.2f\t%.2f", name, targetRate,
+                    count / (double) seconds, count, errors.get(), percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0);
+        }
+    }
+
+    /**
+     * Sends requests at evenly spaced intended times. Requests run on virtual threads, so
+     * a slow response never delays the next send.
+     */
+    private static void schedule(Workload workload, double rate, long measureStart, long end, ExecutorService requests) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureStart;
+            requests.submit(() -> {
+                boolean ok;
+                try {
+                    ok = client.send(workload.next.get(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                if (measured) {
+                    workload.record(System.nanoTime() - intended);
+                    if (!ok) {
+                        workload.errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+    }
+
+    private static HttpRequest browse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sort = random.nextBoolean() ? "price" : "name";
+        return get("/api/products/browse?category=category-" + random.nextInt(CATEGORIES)
+                + "&available=" + random.nextBoolean() + "&page=" + random.nextInt(3) + "&size=10&sortBy=" + sort);
+    }
+
+    private static HttpRequest search() {
+        return get("/api/products/search?keyword=" + KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)]);
+    }
+
+    private static HttpRequest product() {
+        return get("/api/products/" + randomProductId());
+    }
+
+    private static HttpRequest checkout() {
+        long productId = 1 + ThreadLocalRandom.current().nextInt(HOT_SKUS);
+        return post("/api/orders", "{\"customerName\":\"Load Test\",\"customerEmail\":\"" + randomCustomer()
+                + "\",\"productId\":" + productId + ",\"quantity\":1}");
+    }
+
+    private static HttpRequest basket() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return post("/api/orders/basket", "{\"customerName\":\"Load Test\",\"customerEmail\":\"" + randomCustomer()
+                + "\",\"lines\":[{\"productId\":" + (1 + random.nextInt(HOT_SKUS)) + ",\"quantity\":1},"
+                + "{\"productId\":" + randomProductId() + ",\"quantity\":2}]}");
+    }
+
+    private static HttpRequest history() {
+        return get("/api/orders/customer/" + encode(randomCustomer()) + "/history?page=0&size=20");
+    }
+
+    private static HttpRequest customerOrders() {
+        return get("/api/orders/customer/" + encode(randomCustomer()) + "?page=0&size=10");
+    }
+
+    private static long randomProductId() {
+        return 1 + ThreadLocalRandom.current().nextInt(PRODUCTS);
+    }
+
+    /**
+     * Half of all customer traffic comes from a handful of high-volume B2B customers.
+     */
+    private static String randomCustomer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextBoolean()
+                ? "buyer-" + random.nextInt(B2B_CUSTOMERS) + "@b2b.example"
+                : "customer-" + random.nextInt(CUSTOMERS) + "@example.com";
+    }
+
+    /**
+     * Creates the catalog (products 1 to HOT_SKUS are the hot SKUs, with effectively
+     * unlimited stock) and an initial order history, and checks product IDs start at 1.
+     */
+    private static void seed() throws IOException, InterruptedException {
+        System.out.printf("Seeding %d products and %d orders%n", PRODUCTS, SEED_ORDERS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            String body = "{\"name\":\"" + KEYWORDS[i % KEYWORDS.length] + " " + i + "\",\"description\":\"Load test "
+                    + KEYWORDS[(i / KEYWORDS.length) % KEYWORDS.length] + "\",\"price\":" + (1 + i % 97) + ".99,"
+                    + "\"stockQuantity\":" + (i <= HOT_SKUS ? 1_000_000_000 : 10_000_000)
+                    + ",\"category\":\"category-" + i % CATEGORIES + "\",\"active\":true}";
+            HttpResponse<String> response = client.send(post("/api/products", body), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201 || (i == 1 && !response.body().contains("\"id\":1,"))) {
+                throw new IllegalStateException("Seeding needs an empty database; got " + response.statusCode()
+                        + " " + response.body());
+            }
+        }
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            client.send(checkout(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000_000.0;
+    }
+
+    private static Map<String, String[]> readReport(Path path) throws IOException {
+        Map<String, String[]> rows = new HashMap<>();
+        List<String> lines = Files.readAllLines(path);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split("\t");
+            rows.put(columns[0], columns);
+        }
+        return rows;
+    }
+
+    private static void print(List<String> lines, Map<String, String[]> baseline) {
+        System.out.printf("%-22s %8s %9s %8s %7s %9s %9s %9s %9s%s%n", "endpoint", "target", "achieved", "requests",
+                "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", baseline.isEmpty() ? "" : "  achieved diff  p99 diff");
+        for (String line : lines.subList(1, lines.size())) {
+            String[] c = line.split("\t");
+            String delta = "";
+            String[] before = baseline.get(c[0]);
+            if (before != null) {
+                delta = String.format("   %+9.1f%% %+8.1f%%", change(before[2], c[2]), change(before[6], c[6]));
+            }
+            System.out.printf("%-22s %8s %9s %8s %7s %9s %9s %9s %9s%s%n",
+                    c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8], delta);
+        }
+    }
+
+    private static double change(String before, String after) {
+        double b = Double.parseDouble(before);
+        return b == 0 ? 0 : 100.0 * (Double.parseDouble(after) - b) / b;
+    }
+}
@@ -0,0 +1,121 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.maybank.assessment.config.ResponseSerializersModule;
+import com.maybank.assessment.dto.OrderLineResponse;
+import com.maybank.assessment.dto.OrderResponse;
+import com.maybank.assessment.dto.OrderSummaryResponse;
+import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.entity.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Response serialization microbenchmark: the reflective bean serializer (Jackson with the
+ * java.time module, as configured by Boot) against the same mapper with
+ * ResponseSerializersModule, for single DTOs and pages. Each case is warmed up, then
+ * timed over several fixed-length iterations; the table shows bytes per response and
+ * the median and best time per serialization.
+ *
+ * Usage: java -cp target/classes:<dependency classpath> scripts/SerializationBenchmark.java [iterations] [iterationMillis]
+ * (scripts/serialization-benchmark.sh builds the classpath).
+ */
+public class SerializationBenchmark {
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        ObjectMapper reflective = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper precomputed = reflective.copy().registerModule(new ResponseSerializersModule());
+
+        LocalDateTime now = LocalDateTime.of(2025, 11, 24, 10, 30, 15, 123_456_000);
+        List<ProductResponse> products = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            products.add(new ProductResponse((long) i, "Product " + i, "Description of product " + i,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(i)), 100 + i, "category-" + i % 5, true, now, now, 3L));
+        }
+        List<OrderLineResponse> lines = List.of(
+                new OrderLineResponse(1L, products.get(0), 2, products.get(0).getPrice(), new BigDecimal("41.98")),
+                new OrderLineResponse(2L, products.get(1), 1, products.get(1).getPrice(), products.get(1).getPrice()),
+                new OrderLineResponse(3L, products.get(2), 5, products.get(2).getPrice(), new BigDecimal("114.95")));
+        OrderResponse order = new OrderResponse(42L, "ORD-1732444215123-1A2B3C4D", "Jane Customer",
+                "jane@example.com", null, 8, lines, new BigDecimal("177.91"), Order.OrderStatus.PENDING,
+                "Leave at reception", now, now, 1L);
+        List<OrderSummaryResponse> summaries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            summaries.add(new OrderSummaryResponse(1000L - i, 1 + i % 4, new BigDecimal("25.50"),
+                    Order.OrderStatus.values()[i % 6], now.minusHours(i)));
+        }
+
+        Map<String, Object> cases = new java.util.LinkedHashMap<>();
+        cases.put("product", products.get(0));
+        cases.put("order (3 lines)", order);
+        cases.put("product page (10)", new PageImpl<>(products.subList(0, 10),
+                PageRequest.of(0, 10, Sort.by("name")), 200));
+        cases.put("history page (20)", new PageImpl<>(summaries, PageRequest.of(0, 20), 350));
+
+        System.out.printf("%-20s %-12s %8s %12s %12s%n", "case", "serializer", "bytes", "median ns", "best ns");
+        for (Map.Entry<String, Object> entry : cases.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> mapper : Map.of("reflective", reflective, "precomputed", precomputed)
+                    .entrySet().stream().sorted(Map.Entry.comparingByKey(java.util.Comparator.reverseOrder())).toList()) {
+                Object value = entry.getValue();
+                ObjectMapper om = mapper.getValue();
+                int bytes = om.writeValueAsBytes(value).length;
+                double[] nanos = measure(() -> {
+                    try {
+                        return om.writeValueAsBytes(value);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, iterations, iterationMillis);
+                System.out.printf("%-20s %-12s %8d %12.0f %12.0f%n", entry.getKey(), mapper.getKey(), bytes,
+                        nanos[nanos.length / 2], nanos[0]);
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Runs one warm-up iteration per measured iteration, then returns the sorted
+     * nanoseconds per operation of each measured iteration.
+     */
+    private static double[] measure(Supplier<byte[]> operation, int iterations, long iterationMillis) {
+        double[] results = new double[iterations];
+        for (int i = 0; i < iterations * 2; i++) {
+            long deadline = System.nanoTime() + iterationMillis * 1_000_000L;
+            long operations = 0;
+            long start = System.nanoTime();
+            long end;
+            do {
+                for (int batch = 0; batch < 100; batch++) {
+                    sink += operation.get().length;
+                }
+                operations += 100;
+                end = System.nanoTime();
+            } while (end < deadline);
+            if (i >= iterations) {
+                results[i - iterations] = (end - start) / (double) operations;
+            }
+        }
+        Arrays.sort(results);
+        return results;
+    }
+}
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# ========================================
+# Async vs blocking integration endpoint benchmark
+# ========================================
+# Usage:
+#   mvn package -DskipTests
+#   scripts/async-integration-benchmark.sh [seconds] [concurrencies] [threadLimits]
+#
+# Starts a local JSONPlaceholder stub with STUB_LATENCY_MS of upstream latency
+# (default 200), then runs GET /api/integration/external-post/{id} at each client
+# concurrency (default "50,200,1000") against two builds, each with each Tomcat
+# worker-thread limit (server.tomcat.threads.max, default "50,200"):
+#   blocking - the last commit before the async integration endpoints (BASELINE_REF),
+#              built into target/async-benchmark; RestTemplate holds a worker thread
+#              for the whole upstream round trip
+#   async    - the current fat jar
+# Reports requests/sec, p50/p99 latency, failed requests and the server's peak
+# thread count. Extra application arguments can be passed in APP_ARGS.
+
+set -euo pipefail
+
+SECONDS_PER_STEP="${1:-15}"
+CONCURRENCIES="${2:-50,200,1000}"
+THREAD_LIMITS="${3:-50,200}"
+PORT="${PORT:-18080}"
+STUB_PORT="${STUB_PORT:-18090}"
+STUB_LATENCY_MS="${STUB_LATENCY_MS:-200}"
+APP_ARGS="${APP_ARGS:-}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR_NAME="assessment-application-1.0.0.jar"
+FAT_JAR="$ROOT_DIR/target/$JAR_NAME"
+BASELINE_DIR="$ROOT_DIR/target/async-benchmark"
+BASELINE_JAR="$BASELINE_DIR/blocking.jar"
+LOG_DIR="$(mktemp -d)"
+
+if [[ ! -f "$FAT_JAR" ]]; then
+    echo "Application jar missing; run 'mvn package -DskipTests' first" >&2
+    exit 1
+fi
+
+if [[ ! -f "$BASELINE_JAR" ]]; then
+    ASYNC_COMMIT="$(git -C "$ROOT_DIR" log --diff-filter=A --format=%H -- \
+        src/main/java/com/maybank/assessment/service/AsyncExternalApiService.java | tail -1)"
+    BASELINE_REF="${BASELINE_REF:-$ASYNC_COMMIT^}"
+    WORKTREE="$(mktemp -d)"
+    git -C "$ROOT_DIR" worktree add -q --detach "$WORKTREE" "$BASELINE_REF"
+    (cd "$WORKTREE" && mvn -B -q package -DskipTests)
+    mkdir -p "$BASELINE_DIR"
+    cp "$WORKTREE/target/$JAR_NAME" "$BASELINE_JAR"
+    git -C "$ROOT_DIR" worktree remove --force "$WORKTREE"
+fi
+
+java "$ROOT_DIR/scripts/ExternalApiStub.java" "$STUB_PORT" "$STUB_LATENCY_MS" > /dev/null 2>&1 &
+STUB_PID=$!
+APP_PID=""
+trap 'kill $APP_PID "$STUB_PID" 2>/dev/null || true; rm -rf "$LOG_DIR"' EXIT
+
+printf "%-24s %8s %12s %10s %10s %8s %10s\n" \
+    "mode" "clients" "requests/s" "p50 (ms)" "p99 (ms)" "failed" "threads"
+for mode in blocking async; do
+    jar="$FAT_JAR"
+    [[ "$mode" == blocking ]] && jar="$BASELINE_JAR"
+    for threads in ${THREAD_LIMITS//,/ }; do
+        # Run from a scratch directory so log files do not land in the working tree
+        # shellcheck disable=SC2086
+        (cd "$LOG_DIR" && exec java -jar "$jar" --server.port="$PORT" \
+            --spring.datasource.url=jdbc:h2:mem:asyncbench --spring.datasource.driverClassName=org.h2.Driver \
+            --spring.datasource.username=sa --spring.datasource.password= \
+            --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect \
+            --external.api.url="http://localhost:$STUB_PORT" --server.tomcat.threads.max="$threads" \
+            --rate-limit.enabled=false --logging.level.com.maybank.assessment=INFO \
+            --logging.level.org.springframework.web=INFO $APP_ARGS) > /dev/null 2>&1 &
+        APP_PID=$!
+
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/welcome"; do
+            if ! kill -0 "$APP_PID" 2>/dev/null; then
+                echo "Application exited before serving a request" >&2
+                exit 1
+            fi
+            sleep 0.2
+        done
+
+        java "$ROOT_DIR/scripts/AsyncIntegrationBenchmark.java" "http://localhost:$PORT" \
+            "$mode threads=$threads" "$APP_PID" "$SECONDS_PER_STEP" "$CONCURRENCIES"
+
+        kill "$APP_PID"
+        wait "$APP_PID" 2>/dev/null || true
+    done
+done
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# ========================================
+# Wire format benchmark
+# ========================================
+# Usage:
+#   scripts/binary-format-benchmark.sh [iterations] [iterationMillis]
+#
+# Compiles the application, then compares bytes per response and encode/decode
+# time for JSON, CBOR and Smile (single DTOs and Page envelopes).
+
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+CLASSPATH_FILE="$ROOT_DIR/target/benchmark.classpath"
+
+(cd "$ROOT_DIR" && mvn -B -q compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE")
+
+java -cp "$ROOT_DIR/target/classes:$(cat "$CLASSPATH_FILE")" \
+    "$ROOT_DIR/scripts/BinaryFormatBenchmark.java" "${1:-5}" "${2:-1000}"
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# ========================================
+# Optimistic-locking and sharded-inventory contention benchmark
+# ========================================
+# Usage:
+#   mvn package -DskipTests
+#   scripts/contention-benchmark.sh [seconds] [writerCounts] [shardCounts]
+#
+# Starts the fat jar on an in-memory H2 database (rate limiting off) and, for each
+# shard count (0 = unsharded, default "0,16") and writer count, has every writer
+# place orders against the same product. Reports committed orders/sec, the share of
+# requests answered 409 after retries were exhausted, server-side retries per order,
+# p99 latency and whether the final stock matches the orders created.
+# Extra application arguments (e.g. concurrency.retry.max-attempts=8) can be passed
+# in APP_ARGS; with APP_ARGS=--inventory.write-behind.enabled=true the unsharded steps
+# measure write-behind stock (pass shardCounts 0, as sharding is then unavailable).
+
+set -euo pipefail
+
+SECONDS_PER_STEP="${1:-15}"
+WRITER_COUNTS="${2:-1,2,4,8,16}"
+SHARD_COUNTS="${3:-0,16}"
+PORT="${PORT:-18080}"
+APP_ARGS="${APP_ARGS:-}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+FAT_JAR="$ROOT_DIR/target/assessment-application-1.0.0.jar"
+LOG_DIR="$(mktemp -d)"
+
+if [[ ! -f "$FAT_JAR" ]]; then
+    echo "Application jar missing; run 'mvn package -DskipTests' first" >&2
+    exit 1
+fi
+
+# Run from a scratch directory so log files do not land in the working tree
+# shellcheck disable=SC2086
+(cd "$LOG_DIR" && exec java -jar "$FAT_JAR" --server.port="$PORT" \
+    --spring.datasource.url=jdbc:h2:mem:contention --spring.datasource.driverClassName=org.h2.Driver \
+    --spring.datasource.username=sa --spring.datasource.password= \
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect \
+    --rate-limit.enabled=false --logging.level.com.maybank.assessment=INFO $APP_ARGS) > /dev/null 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true; rm -rf "$LOG_DIR"' EXIT
+
+until curl -sf -o /dev/null "http://localhost:$PORT/api/health"; do
+    if ! kill -0 "$PID" 2>/dev/null; then
+        echo "Application exited before serving a request" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+java "$ROOT_DIR/scripts/ContentionBenchmark.java" "http://localhost:$PORT" "$SECONDS_PER_STEP" "$WRITER_COUNTS" "$SHARD_COUNTS"
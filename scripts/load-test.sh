@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# ========================================
+# End-to-end load test with a local external API stub
+# ========================================
+# Usage:
+#   mvn package -DskipTests
+#   scripts/load-test.sh [requestsPerSecond] [seconds] [warmupSeconds]
+#
+# Starts a local JSONPlaceholder stub and the fat jar on an in-memory H2 database
+# with external.api.url pointed at the stub and rate limiting off, so the run needs
+# no network. Then drives a fixed-arrival-rate mix of catalog browse, search, product
+# reads, checkout and basket orders on hot SKUs, customer order history, the
+# integration endpoints and full order exports, and reports throughput and p50/p99/p999
+# latency per endpoint.
+#
+# The report is written to target/load-test/report-<timestamp>.tsv. Set BASELINE to
+# an earlier report to print the change in throughput and p99 against it.
+# Extra application arguments can be passed in APP_ARGS; STUB_LATENCY_MS sets the
+# stub's response delay (default 20).
+
+set -euo pipefail
+
+RATE="${1:-100}"
+DURATION="${2:-60}"
+WARMUP="${3:-15}"
+PORT="${PORT:-18080}"
+STUB_PORT="${STUB_PORT:-18090}"
+STUB_LATENCY_MS="${STUB_LATENCY_MS:-20}"
+APP_ARGS="${APP_ARGS:-}"
+BASELINE="${BASELINE:-}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+FAT_JAR="$ROOT_DIR/target/assessment-application-1.0.0.jar"
+REPORT="$ROOT_DIR/target/load-test/report-$(date +%Y%m%d-%H%M%S).tsv"
+LOG_DIR="$(mktemp -d)"
+
+if [[ ! -f "$FAT_JAR" ]]; then
+    echo "Application jar missing; run 'mvn package -DskipTests' first" >&2
+    exit 1
+fi
+
+java "$ROOT_DIR/scripts/ExternalApiStub.java" "$STUB_PORT" "$STUB_LATENCY_MS" > /dev/null 2>&1 &
+STUB_PID=$!
+
+# Run from a scratch directory so log files do not land in the working tree
+# shellcheck disable=SC2086
+(cd "$LOG_DIR" && exec java -jar "$FAT_JAR" --server.port="$PORT" \
+    --spring.datasource.url=jdbc:h2:mem:loadtest --spring.datasource.driverClassName=org.h2.Driver \
+    --spring.datasource.username=sa --spring.datasource.password= \
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect \
+    --external.api.url="http://localhost:$STUB_PORT" \
+    --rate-limit.enabled=false --logging.level.com.maybank.assessment=INFO \
+    --logging.level.org.springframework.web=INFO $APP_ARGS) > /dev/null 2>&1 &
+APP_PID=$!
+trap 'kill "$APP_PID" "$STUB_PID" 2>/dev/null || true; rm -rf "$LOG_DIR"' EXIT
+
+until curl -sf -o /dev/null "http://localhost:$PORT/api/health"; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+        echo "Application exited before serving a request" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+java "$ROOT_DIR/scripts/LoadTest.java" "http://localhost:$PORT" "$RATE" "$DURATION" "$WARMUP" "$REPORT" "$BASELINE"
+echo "Report written to $REPORT"
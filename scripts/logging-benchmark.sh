@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# ========================================
+# Logging overhead benchmark: requests/sec with logging on versus off
+# ========================================
+# Usage:
+#   mvn package -DskipTests
+#   scripts/logging-benchmark.sh [seconds] [concurrency]
+#
+# Runs the same read-heavy load (GET /api/products/{id}) against the fat jar in
+# three logging modes and reports throughput and latency for each:
+#   verbose - previous defaults: DEBUG application logging plus SQL and bind logging
+#   default - default profile: INFO application logging, SQL logging off
+#   prod    - prod profile: INFO, async appenders, structured JSON
+#   off     - all logging disabled
+# Uses an in-memory H2 database and disables rate limiting so the load is not
+# throttled. Extra application arguments can be passed in APP_ARGS.
+
+set -euo pipefail
+
+SECONDS_PER_MODE="${1:-20}"
+CONCURRENCY="${2:-16}"
+PORT="${PORT:-18080}"
+APP_ARGS="${APP_ARGS:-}"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+FAT_JAR="$ROOT_DIR/target/assessment-application-1.0.0.jar"
+LOG_DIR="$(mktemp -d)"
+
+H2_ARGS="--spring.datasource.url=jdbc:h2:mem:bench --spring.datasource.driverClassName=org.h2.Driver \
+--spring.datasource.username=sa --spring.datasource.password= \
+--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect --rate-limit.enabled=false"
+
+if [[ ! -f "$FAT_JAR" ]]; then
+    echo "Application jar missing; run 'mvn package -DskipTests' first" >&2
+    exit 1
+fi
+
+run_mode() {
+    local mode="$1"
+    shift
+    local pid result
+
+    # Run from a scratch directory so log files do not land in the working tree
+    # shellcheck disable=SC2086
+    (cd "$LOG_DIR" && exec java -jar "$FAT_JAR" --server.port="$PORT" $H2_ARGS "$@" $APP_ARGS) > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: application exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.2
+    done
+
+    curl -sf -o /dev/null -X POST "http://localhost:$PORT/api/products" -H 'Content-Type: application/json' \
+        -d '{"name":"Benchmark","price":9.99,"stockQuantity":100,"category":"bench"}'
+
+    result=$(java "$ROOT_DIR/scripts/LoadGenerator.java" "http://localhost:$PORT/api/products/1" \
+        "$CONCURRENCY" "$SECONDS_PER_MODE" 5)
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    printf "%-8s %s\n" "$mode" "$result"
+}
+
+run_mode verbose --logging.level.com.maybank.assessment=DEBUG --logging.level.org.springframework.web=DEBUG \
+    --spring.jpa.show-sql=true --logging.level.org.hibernate.SQL=DEBUG --logging.level.org.hibernate.orm.jdbc.bind=TRACE
+run_mode default
+run_mode prod --spring.profiles.active=prod
+run_mode off --logging.level.root=OFF --logging.level.com.maybank.assessment=OFF \
+    --logging.level.org.springframework=OFF --logging.level.org.hibernate.SQL=OFF --spring.jpa.show-sql=false
+
+rm -rf "$LOG_DIR"
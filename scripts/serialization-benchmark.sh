@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# ========================================
+# Response serialization benchmark
+# ========================================
+# Usage:
+#   scripts/serialization-benchmark.sh [iterations] [iterationMillis]
+#
+# Compiles the application, then compares bytes per response and time per
+# serialization for the reflective Jackson bean serializer and the precomputed
+# serializers in ResponseSerializersModule (single DTOs and Page envelopes).
+
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+CLASSPATH_FILE="$ROOT_DIR/target/benchmark.classpath"
+
+(cd "$ROOT_DIR" && mvn -B -q compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE")
+
+java -cp "$ROOT_DIR/target/classes:$(cat "$CLASSPATH_FILE")" \
+    "$ROOT_DIR/scripts/SerializationBenchmark.java" "${1:-5}" "${2:-1000}"
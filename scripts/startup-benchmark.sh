@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# ========================================
+# Startup benchmark: time-to-first-request and RSS
+# ========================================
+# Usage:
+#   mvn -Pprod package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Starts the application in three modes and reports, per mode, the time until
+# GET /api/health first answers 200 and the resident set size at that moment:
+#   default - fat jar, default profile
+#   prod    - extracted jar, prod profile with AOT
+#   prod+cds - extracted jar, prod profile with AOT and the CDS archive
+# Append the output to a per-release record to track regressions. Startup warm-up is
+# turned off so the numbers track application startup alone.
+# Extra application arguments (e.g. a different datasource) can be passed in APP_ARGS.
+
+set -euo pipefail
+
+RUNS="${1:-3}"
+PORT="${PORT:-18080}"
+APP_ARGS="${APP_ARGS:-}"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR_NAME="assessment-application-1.0.0.jar"
+FAT_JAR="$TARGET_DIR/$JAR_NAME"
+EXTRACTED_JAR="$TARGET_DIR/extracted/$JAR_NAME"
+CDS_ARCHIVE="$TARGET_DIR/extracted/application.jsa"
+
+if [[ ! -f "$EXTRACTED_JAR" || ! -f "$CDS_ARCHIVE" ]]; then
+    echo "Extracted jar or CDS archive missing; run 'mvn -Pprod package -DskipTests' first" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local mode="$1"
+    shift
+    local start pid elapsed rss_kb
+
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java "$@" --server.port="$PORT" --warmup.enabled=false $APP_ARGS > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: application exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+
+    elapsed=$(( $(now_ms) - start ))
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    printf "%-10s time-to-first-request=%6d ms  rss=%7d KB\n" "$mode" "$elapsed" "$rss_kb"
+}
+
+for run in $(seq 1 "$RUNS"); do
+    echo "Run $run/$RUNS"
+    measure default -jar "$FAT_JAR"
+    measure prod -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar "$EXTRACTED_JAR"
+    measure prod+cds -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=prod -jar "$EXTRACTED_JAR"
+done
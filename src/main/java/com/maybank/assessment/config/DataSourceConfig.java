@@ -0,0 +1,57 @@
+package com.maybank.assessment.config;
+
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.datasource.WorkloadConnectionPools;
+import com.maybank.assessment.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * One Hikari pool per workload class, all on the spring.datasource connection
+     * settings. The transactional pool is configured by spring.datasource.hikari.*, the
+     * others by datasource.pools.{read,batch}.* (any Hikari setting); each reports its
+     * own hikaricp.* metrics tagged with its pool name.
+     */
+    @Bean
+    public WorkloadConnectionPools workloadConnectionPools(DataSourceProperties properties, Environment environment,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName(workloadClass.getPoolName());
+            binder.bind(workloadClass == WorkloadClass.TRANSACTIONAL
+                    ? "spring.datasource.hikari"
+                    : "datasource.pools." + workloadClass.getPoolName(), Bindable.ofInstance(pool));
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.put(workloadClass, pool);
+        }
+        return new WorkloadConnectionPools(pools);
+    }
+
+    /**
+     * The application's DataSource (JPA, Flyway, JdbcTemplate), routing each connection
+     * request to the pool of the calling thread's workload class.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadConnectionPools pools) {
+        return new WorkloadRoutingDataSource(pools);
+    }
+}
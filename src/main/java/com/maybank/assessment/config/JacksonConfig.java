@@ -0,0 +1,64 @@
+package com.maybank.assessment.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Versioned binary media types. Version 1 carries the same fields as the JSON
+     * representation (see {@code schema/v1/responses.cddl}); the unversioned
+     * {@code application/cbor} and {@code application/x-jackson-smile} types are aliases
+     * for the current version.
+     */
+    public static final String CBOR_V1_VALUE = "application/vnd.maybank.v1+cbor";
+    public static final String SMILE_V1_VALUE = "application/vnd.maybank.v1+smile";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType CBOR_V1 = MediaType.parseMediaType(CBOR_V1_VALUE);
+    public static final MediaType SMILE_V1 = MediaType.parseMediaType(SMILE_V1_VALUE);
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    /**
+     * Boot registers every {@link Module} bean on its shared {@code ObjectMapper}. That
+     * one mapper is used for HTTP responses and is injected everywhere else JSON is
+     * written (logging, tracing, idempotency records).
+     */
+    @Bean
+    public Module responseSerializersModule() {
+        return new ResponseSerializersModule();
+    }
+
+    /**
+     * CBOR for requests and responses on every endpoint, selected by Accept and
+     * Content-Type. Built from Boot's mapper builder, so it has the same modules and
+     * settings as the JSON mapper.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        converter.setSupportedMediaTypes(List.of(CBOR_V1, MediaType.APPLICATION_CBOR));
+        return converter;
+    }
+
+    /**
+     * Smile for requests and responses on every endpoint, configured as for CBOR.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2SmileHttpMessageConverter converter =
+                new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+        converter.setSupportedMediaTypes(List.of(SMILE_V1, SMILE));
+        return converter;
+    }
+}
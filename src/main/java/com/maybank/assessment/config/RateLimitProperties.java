@@ -0,0 +1,73 @@
+package com.maybank.assessment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header identifying the calling client. Requests without it are keyed by remote address.
+     */
+    private String clientKeyHeader = "X-API-Key";
+
+    /**
+     * API keys honoured in {@link #clientKeyHeader}. Any other value is ignored and the
+     * request is keyed by remote address, so a client cannot get a fresh bucket by
+     * sending a new key.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /**
+     * Applied to any /api/** request that matches none of the route rules.
+     */
+    private Rule defaultRule = new Rule("/api/**", null, 100, 50);
+
+    /**
+     * Route-specific rules, evaluated in order; the first match wins.
+     */
+    private List<Rule> routes = new ArrayList<>();
+
+    private Shedding shedding = new Shedding();
+
+    @Data
+    public static class Rule {
+        private String pattern;
+        private String method;
+        private long capacity;
+        private double refillPerSecond;
+
+        public Rule() {
+        }
+
+        public Rule(String pattern, String method, long capacity, double refillPerSecond) {
+            this.pattern = pattern;
+            this.method = method;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Data
+    public static class Shedding {
+        private boolean enabled = true;
+
+        /**
+         * Number of threads waiting on a Hikari connection at which shedding starts.
+         */
+        private int pendingThreshold = 5;
+
+        /**
+         * Number of waiting threads at which every non-exempt request is shed.
+         */
+        private int pendingLimit = 20;
+    }
+}
@@ -0,0 +1,308 @@
+package com.maybank.assessment.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.maybank.assessment.dto.OrderLineResponse;
+import com.maybank.assessment.dto.OrderResponse;
+import com.maybank.assessment.dto.OrderSummaryResponse;
+import com.maybank.assessment.dto.ProductResponse;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Hand-written Jackson serializers for the response DTOs on the hot read paths. Each one
+ * writes its fields through direct getter calls with pre-encoded field names, instead of
+ * the reflective bean serializer. The output matches the bean serializer under Boot's
+ * defaults: ISO-8601 date-times, enums by name, nulls included.
+ *
+ * <p>{@link Page} results are written as a compact envelope, {@code {"content": [...],
+ * "page": {"size", "number", "totalElements", "totalPages"}}}. This is the same shape as
+ * Spring Data's {@code PagedModel}, without the pageable and sort metadata of a
+ * serialized {@code PageImpl}.
+ *
+ * <p>Registered on the shared Boot {@code ObjectMapper} by {@link JacksonConfig}.
+ */
+public class ResponseSerializersModule extends SimpleModule {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString STOCK_QUANTITY = new SerializedString("stockQuantity");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString ACTIVE = new SerializedString("active");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString ORDER_NUMBER = new SerializedString("orderNumber");
+    private static final SerializedString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializedString CUSTOMER_EMAIL = new SerializedString("customerEmail");
+    private static final SerializedString PRODUCT = new SerializedString("product");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString LINES = new SerializedString("lines");
+    private static final SerializedString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString NOTES = new SerializedString("notes");
+    private static final SerializedString UNIT_PRICE = new SerializedString("unitPrice");
+    private static final SerializedString LINE_TOTAL = new SerializedString("lineTotal");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    public ResponseSerializersModule() {
+        super("ResponseSerializersModule");
+        addSerializer(ProductResponse.class, new ProductResponseSerializer());
+        addSerializer(OrderResponse.class, new OrderResponseSerializer());
+        addSerializer(OrderLineResponse.class, new OrderLineResponseSerializer());
+        addSerializer(OrderSummaryResponse.class, new OrderSummaryResponseSerializer());
+        addSerializer(new PageSerializer());
+    }
+
+    static class ProductResponseSerializer extends StdSerializer<ProductResponse> {
+
+        ProductResponseSerializer() {
+            super(ProductResponse.class);
+        }
+
+        @Override
+        public void serialize(ProductResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.getId());
+            writeString(gen, NAME, value.getName());
+            writeString(gen, DESCRIPTION, value.getDescription());
+            writeNumber(gen, PRICE, value.getPrice());
+            writeNumber(gen, STOCK_QUANTITY, value.getStockQuantity());
+            writeString(gen, CATEGORY, value.getCategory());
+            gen.writeFieldName(ACTIVE);
+            if (value.getActive() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeBoolean(value.getActive());
+            }
+            writeDateTime(gen, CREATED_AT, value.getCreatedAt());
+            writeDateTime(gen, UPDATED_AT, value.getUpdatedAt());
+            writeNumber(gen, VERSION, value.getVersion());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderResponseSerializer extends StdSerializer<OrderResponse> {
+
+        private final ProductResponseSerializer productSerializer = new ProductResponseSerializer();
+        private final OrderLineResponseSerializer lineSerializer = new OrderLineResponseSerializer();
+
+        OrderResponseSerializer() {
+            super(OrderResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.getId());
+            writeString(gen, ORDER_NUMBER, value.getOrderNumber());
+            writeString(gen, CUSTOMER_NAME, value.getCustomerName());
+            writeString(gen, CUSTOMER_EMAIL, value.getCustomerEmail());
+            gen.writeFieldName(PRODUCT);
+            if (value.getProduct() == null) {
+                gen.writeNull();
+            } else {
+                productSerializer.serialize(value.getProduct(), gen, provider);
+            }
+            writeNumber(gen, QUANTITY, value.getQuantity());
+            gen.writeFieldName(LINES);
+            List<OrderLineResponse> lines = value.getLines();
+            if (lines == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(lines, lines.size());
+                for (OrderLineResponse line : lines) {
+                    lineSerializer.serialize(line, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            writeNumber(gen, TOTAL_AMOUNT, value.getTotalAmount());
+            writeString(gen, STATUS, value.getStatus() != null ? value.getStatus().name() : null);
+            writeString(gen, NOTES, value.getNotes());
+            writeDateTime(gen, CREATED_AT, value.getCreatedAt());
+            writeDateTime(gen, UPDATED_AT, value.getUpdatedAt());
+            writeNumber(gen, VERSION, value.getVersion());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderLineResponseSerializer extends StdSerializer<OrderLineResponse> {
+
+        private final ProductResponseSerializer productSerializer = new ProductResponseSerializer();
+
+        OrderLineResponseSerializer() {
+            super(OrderLineResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderLineResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.getId());
+            gen.writeFieldName(PRODUCT);
+            if (value.getProduct() == null) {
+                gen.writeNull();
+            } else {
+                productSerializer.serialize(value.getProduct(), gen, provider);
+            }
+            writeNumber(gen, QUANTITY, value.getQuantity());
+            writeNumber(gen, UNIT_PRICE, value.getUnitPrice());
+            writeNumber(gen, LINE_TOTAL, value.getLineTotal());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderSummaryResponseSerializer extends StdSerializer<OrderSummaryResponse> {
+
+        OrderSummaryResponseSerializer() {
+            super(OrderSummaryResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderSummaryResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.getId());
+            writeNumber(gen, QUANTITY, value.getQuantity());
+            writeNumber(gen, TOTAL_AMOUNT, value.getTotalAmount());
+            writeString(gen, STATUS, value.getStatus() != null ? value.getStatus().name() : null);
+            writeDateTime(gen, CREATED_AT, value.getCreatedAt());
+            gen.writeEndObject();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class PageSerializer extends StdSerializer<Page> {
+
+        PageSerializer() {
+            super(Page.class);
+        }
+
+        @Override
+        public void serialize(Page value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(CONTENT);
+            List<?> content = value.getContent();
+            gen.writeStartArray(content, content.size());
+            Class<?> elementClass = null;
+            JsonSerializer<Object> elementSerializer = null;
+            for (Object element : content) {
+                if (element == null) {
+                    gen.writeNull();
+                    continue;
+                }
+                if (element.getClass() != elementClass) {
+                    elementClass = element.getClass();
+                    elementSerializer = provider.findValueSerializer(elementClass);
+                }
+                elementSerializer.serialize(element, gen, provider);
+            }
+            gen.writeEndArray();
+            gen.writeFieldName(PAGE);
+            gen.writeStartObject();
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(value.getSize());
+            gen.writeFieldName(NUMBER);
+            gen.writeNumber(value.getNumber());
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(value.getTotalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(value.getTotalPages());
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializedString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            gen.writeString(DATE_TIME.format(value));
+        } else {
+            char[] buffer = new char[29];
+            gen.writeString(buffer, 0, formatDateTime(value, buffer));
+        }
+    }
+
+    /**
+     * Formats as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} does for years 0-9999:
+     * seconds always present and the fraction trimmed of trailing zeros (omitted when
+     * zero), without the formatter's per-field parsing machinery.
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        writeDigits(buffer, 20, nano, 9);
+        int length = 29;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
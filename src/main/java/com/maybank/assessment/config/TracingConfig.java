@@ -0,0 +1,34 @@
+package com.maybank.assessment.config;
+
+import com.maybank.assessment.tracing.Tracer;
+import com.maybank.assessment.tracing.TracingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Wraps the connection pool so time spent waiting for a connection shows up as its
+     * own span. Static so the post-processor does not force early initialisation of
+     * this configuration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource, tracer.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.maybank.assessment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction of requests without an upstream sampling decision that are exported.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Requests at least this slow are exported and kept as exemplars even when not sampled.
+     */
+    private long slowThresholdMs = 500;
+
+    /**
+     * Number of recent slow-request exemplars kept in memory.
+     */
+    private int exemplarCapacity = 50;
+
+    /**
+     * Spans recorded per request beyond this are counted but not kept.
+     */
+    private int maxSpansPerTrace = 256;
+
+    private Export export = new Export();
+
+    @Data
+    public static class Export {
+
+        /**
+         * NDJSON file finished traces are appended to, one trace per line.
+         */
+        private String file = "logs/traces.ndjson";
+
+        /**
+         * Traces waiting to be written; further traces are dropped while the queue is full.
+         */
+        private int queueCapacity = 10000;
+    }
+}
@@ -1,28 +1,50 @@
 package com.maybank.assessment.config;
 
 import com.maybank.assessment.interceptor.LoggingInterceptor;
+import com.maybank.assessment.tracing.Tracer;
+import com.maybank.assessment.tracing.TracingClientHttpRequestInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 @Configuration
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
     private final LoggingInterceptor loggingInterceptor;
+    private final Tracer tracer;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(loggingInterceptor)
                 .addPathPatterns("/api/**")
-                .excludePathPatterns("/api/health");
+                .excludePathPatterns("/api/health", "/api/health/**");
     }
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new TracingClientHttpRequestInterceptor(tracer));
+        return restTemplate;
+    }
+
+    /**
+     * Non-blocking client for the external API. Response handling runs on virtual
+     * threads, so in-flight calls do not pin platform threads.
+     */
+    @Bean
+    public HttpClient externalHttpClient(@Value("${external.api.connect-timeout-ms:5000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
     }
 }
@@ -0,0 +1,32 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.dto.CacheStatsResponse;
+import com.maybank.assessment.service.SecondLevelCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final SecondLevelCacheService secondLevelCacheService;
+
+    /**
+     * GET /api/cache/stats : Second-level cache statistics
+     * Hits, misses and hit ratio per cache region, plus the number of JDBC statements
+     * prepared since startup.
+     * 
+     * @return the ResponseEntity with status 200 (OK) and the cache statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        log.debug("REST request to get second-level cache statistics");
+        return ResponseEntity.ok(secondLevelCacheService.getStatistics());
+    }
+}
@@ -0,0 +1,49 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.dto.ChangeFeedResponse;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * GET /api/changes : Product and order changes after a sequence number
+     * Consumers pass the {@code nextSince} of the previous response to fetch only the
+     * changes since then. With {@code waitSeconds}, an empty result is held open until
+     * a change commits or the wait runs out (long polling).
+     * 
+     * @param since the last sequence number already processed (default: 0, from the start)
+     * @param limit maximum number of changes to return (default: 100)
+     * @param waitSeconds how long to wait for a change when there is none yet (default: 0)
+     * @return the ResponseEntity with status 200 (OK) and the changes, oldest first
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ChangeFeedResponse>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        
+        log.debug("REST request to get changes since {} (limit {}, wait {}s)", since, limit, waitSeconds);
+        
+        if (since < 0 || limit < 1 || waitSeconds < 0) {
+            throw new BadRequestException("since and waitSeconds must be non-negative and limit positive");
+        }
+        
+        return changeFeedService.getChanges(since, limit, waitSeconds).thenApply(ResponseEntity::ok);
+    }
+}
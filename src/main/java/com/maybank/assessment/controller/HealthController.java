@@ -1,5 +1,11 @@
 package com.maybank.assessment.controller;
 
+import com.maybank.assessment.dto.ProbeResponse;
+import com.maybank.assessment.service.HealthCheckService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,15 +17,52 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ApplicationAvailability applicationAvailability;
+    private final HealthCheckService healthCheckService;
+
+    /**
+     * GET /api/health : Application health
+     * Answers 503 (OUT_OF_SERVICE) until the node accepts traffic, i.e. until startup
+     * index loading and warm-up have finished.
+     *
+     * @return the ResponseEntity with status 200 (OK) once ready, otherwise 503 (Service Unavailable)
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
+        boolean ready = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", ready ? "UP" : "OUT_OF_SERVICE");
         response.put("timestamp", LocalDateTime.now());
         response.put("application", "Maybank Assessment Application");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    /**
+     * GET /api/health/live : Liveness probe
+     * Fails only when the application is broken and should be restarted; never because
+     * of load or a dependency.
+     *
+     * @return the ResponseEntity with status 200 (OK) when live, otherwise 503 (Service Unavailable)
+     */
+    @GetMapping("/health/live")
+    public ResponseEntity<ProbeResponse> liveness() {
+        return probe(healthCheckService.liveness());
+    }
+
+    /**
+     * GET /api/health/ready : Readiness probe
+     * Fails until warm-up has finished and whenever the node is saturated (connection pool
+     * waiters, queued requests or GC pressure at their limits).
+     *
+     * @return the ResponseEntity with status 200 (OK) when ready, otherwise 503 (Service Unavailable)
+     */
+    @GetMapping("/health/ready")
+    public ResponseEntity<ProbeResponse> readiness() {
+        return probe(healthCheckService.readiness());
     }
 
     @GetMapping("/welcome")
@@ -27,4 +70,9 @@ public class HealthController {
         return ResponseEntity.ok("Welcome to Maybank Assessment Application!");
     }
 
+    private ResponseEntity<ProbeResponse> probe(ProbeResponse response) {
+        HttpStatus status = HealthCheckService.UP.equals(response.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(response);
+    }
+
 }
@@ -1,26 +1,48 @@
 package com.maybank.assessment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.config.JacksonConfig;
 import com.maybank.assessment.dto.ExternalApiResponse;
 import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.service.AsyncExternalApiService;
 import com.maybank.assessment.service.ExternalApiService;
 import com.maybank.assessment.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Integration endpoints are served asynchronously: the servlet thread is released as
+ * soon as the upstream call is issued and the response is written when it completes.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/integration")
 @RequiredArgsConstructor
 public class IntegrationController {
 
+    private final AsyncExternalApiService asyncExternalApiService;
     private final ExternalApiService externalApiService;
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
 
     /**
      * GET /api/integration/external-posts : Fetch posts from external API
@@ -29,54 +51,112 @@ public class IntegrationController {
      * @return the ResponseEntity with status 200 (OK) and list of posts from external API
      */
     @GetMapping("/external-posts")
-    public ResponseEntity<Map<String, Object>> fetchExternalPosts() {
-        log.info("REST request to fetch posts from external API");
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> fetchExternalPosts() {
+        log.debug("REST request to fetch posts from external API");
         
         // Call external API (3rd party - JSONPlaceholder)
-        List<ExternalApiResponse> externalPosts = externalApiService.fetchPosts();
+        return asyncExternalApiService.fetchPosts().thenApply(externalPosts -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("source", "JSONPlaceholder API");
+            response.put("totalPosts", externalPosts != null ? externalPosts.size() : 0);
+            response.put("posts", externalPosts);
+            response.put("message", "Successfully fetched posts from external API");
+            
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully returned {} posts from external API", 
+                        externalPosts != null ? externalPosts.size() : 0);
+            }
+            
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    /**
+     * GET /api/integration/external-posts/stream : Stream posts from external API
+     * The upstream array is parsed and written to the client one post at a time, so
+     * peak memory stays constant regardless of the number of posts. The envelope is
+     * written as JSON, CBOR or Smile depending on the Accept header.
+     * 
+     * @param userId optional filter on the post author
+     * @param limit optional maximum number of posts to return
+     * @param accept the Accept header, JSON when absent
+     * @return the ResponseEntity with status 200 (OK) and the streamed posts
+     */
+    @GetMapping(value = "/external-posts/stream", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            JacksonConfig.CBOR_V1_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            JacksonConfig.SMILE_V1_VALUE, JacksonConfig.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamExternalPosts(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws HttpMediaTypeNotAcceptableException {
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("source", "JSONPlaceholder API");
-        response.put("totalPosts", externalPosts != null ? externalPosts.size() : 0);
-        response.put("posts", externalPosts);
-        response.put("message", "Successfully fetched posts from external API");
+        log.debug("REST request to stream posts from external API");
         
-        log.info("Successfully returned {} posts from external API", 
-                externalPosts != null ? externalPosts.size() : 0);
+        if (limit != null && limit < 0) {
+            throw new BadRequestException("Limit must be non-negative");
+        }
         
-        return ResponseEntity.ok(response);
+        List<MediaType> accepted = new ArrayList<>(accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept));
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return stream(MediaType.APPLICATION_JSON, objectMapper, userId, limit);
+            }
+            for (AbstractJackson2HttpMessageConverter converter : List.of(cborConverter, smileConverter)) {
+                for (MediaType supported : converter.getSupportedMediaTypes()) {
+                    if (type.includes(supported)) {
+                        return stream(supported, converter.getObjectMapper(), userId, limit);
+                    }
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON,
+                JacksonConfig.CBOR_V1, MediaType.APPLICATION_CBOR, JacksonConfig.SMILE_V1, JacksonConfig.SMILE));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(MediaType contentType, ObjectMapper writer,
+                                                         Long userId, Integer limit) {
+        StreamingResponseBody body = out -> externalApiService.streamPosts(userId, limit, out, writer);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(body);
     }
 
     /**
      * GET /api/integration/product-with-external/{id} : Get product and external post
      * This endpoint demonstrates nested API calls: 
-     * 1. Fetch product from internal database
-     * 2. Call external API to fetch additional data
+     * 1. Call external API to fetch additional data (in flight while the database is read)
+     * 2. Fetch product from internal database
      * 
      * @param id the product ID
      * @return the ResponseEntity with status 200 (OK) and combined data
      */
     @GetMapping("/product-with-external/{id}")
-    public ResponseEntity<Map<String, Object>> getProductWithExternalData(@PathVariable Long id) {
-        log.info("REST request to get product {} with external API data", id);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getProductWithExternalData(@PathVariable Long id) {
+        log.debug("REST request to get product {} with external API data", id);
         
-        // Step 1: Fetch product from our database
-        ProductResponse product = productService.getProductById(id);
-        log.info("Fetched product: {}", product.getName());
+        // Step 1: Call external API (using product ID as post ID for demonstration)
+        CompletableFuture<ExternalApiResponse> externalPostFuture = asyncExternalApiService.fetchPostById(id);
         
-        // Step 2: Call external API (using product ID as post ID for demonstration)
-        ExternalApiResponse externalPost = externalApiService.fetchPostById(id);
-        log.info("Fetched external post with ID: {}", externalPost.getId());
+        // Step 2: Fetch product from our database while the upstream call is in flight
+        ProductResponse product = productService.getProductById(id);
+        log.debug("Fetched product: {}", product.getName());
         
         // Step 3: Combine the data
-        Map<String, Object> response = new HashMap<>();
-        response.put("product", product);
-        response.put("externalData", externalPost);
-        response.put("message", "Product data enriched with external API information");
-        
-        log.info("Successfully returned combined data for product ID: {}", id);
-        
-        return ResponseEntity.ok(response);
+        return externalPostFuture.thenApply(externalPost -> {
+            log.debug("Fetched external post with ID: {}", externalPost.getId());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("product", product);
+            response.put("externalData", externalPost);
+            response.put("message", "Product data enriched with external API information");
+            
+            log.debug("Successfully returned combined data for product ID: {}", id);
+            
+            return ResponseEntity.ok(response);
+        });
     }
 
     /**
@@ -86,11 +166,9 @@ public class IntegrationController {
      * @return the ResponseEntity with status 200 (OK) and the post data
      */
     @GetMapping("/external-post/{id}")
-    public ResponseEntity<ExternalApiResponse> fetchExternalPostById(@PathVariable Long id) {
-        log.info("REST request to fetch post {} from external API", id);
-        
-        ExternalApiResponse post = externalApiService.fetchPostById(id);
+    public CompletableFuture<ResponseEntity<ExternalApiResponse>> fetchExternalPostById(@PathVariable Long id) {
+        log.debug("REST request to fetch post {} from external API", id);
         
-        return ResponseEntity.ok(post);
+        return asyncExternalApiService.fetchPostById(id).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,9 +1,13 @@
 package com.maybank.assessment.controller;
 
+import com.maybank.assessment.dto.BasketOrderRequest;
 import com.maybank.assessment.dto.OrderRequest;
 import com.maybank.assessment.dto.OrderResponse;
+import com.maybank.assessment.dto.OrderSummaryResponse;
 import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.service.IdempotencyService;
 import com.maybank.assessment.service.OrderService;
+import com.maybank.assessment.service.OrderStatusStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,11 +15,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -23,32 +32,68 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderStatusStreamService orderStatusStreamService;
 
+    /**
+     * POST /api/orders : Create a new order
+     * When an Idempotency-Key header is supplied, retries with the same key replay the
+     * original response instead of creating a duplicate order.
+     *
+     * @param request the order to create
+     * @param idempotencyKey optional client-generated key identifying this request
+     * @return the ResponseEntity with status 201 (CREATED) and the created order
+     */
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest request) {
-        log.info("REST request to create order for customer: {}", request.getCustomerEmail());
-        OrderResponse response = orderService.createOrder(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        
+        log.debug("REST request to create order for customer: {}", request.getCustomerEmail());
+        return created(idempotencyKey, request, () -> orderService.createOrder(request));
+    }
+
+    /**
+     * POST /api/orders/basket : Create a single order for several products
+     * Supports the Idempotency-Key header in the same way as POST /api/orders.
+     *
+     * @param request the customer details and order lines
+     * @param idempotencyKey optional client-generated key identifying this request
+     * @return the ResponseEntity with status 201 (CREATED) and the created order with its lines
+     */
+    @PostMapping("/basket")
+    public ResponseEntity<OrderResponse> createBasketOrder(
+            @Valid @RequestBody BasketOrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        
+        if (log.isDebugEnabled()) {
+            log.debug("REST request to create basket order with {} lines for customer: {}",
+                    request.getLines().size(), request.getCustomerEmail());
+        }
+        return created(idempotencyKey, request, () -> orderService.createBasketOrder(request));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-        log.info("REST request to get order by ID: {}", id);
+        log.debug("REST request to get order by ID: {}", id);
         OrderResponse response = orderService.getOrderById(id);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/order-number/{orderNumber}")
     public ResponseEntity<OrderResponse> getOrderByOrderNumber(@PathVariable String orderNumber) {
-        log.info("REST request to get order by order number: {}", orderNumber);
+        log.debug("REST request to get order by order number: {}", orderNumber);
         OrderResponse response = orderService.getOrderByOrderNumber(orderNumber);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
     public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("REST request to get all orders");
+        log.debug("REST request to get all orders");
         List<OrderResponse> response = orderService.getAllOrders();
         return ResponseEntity.ok(response);
     }
@@ -69,7 +114,9 @@ public class OrderController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
         
-        log.info("REST request to get orders with pagination - page: {}, size: {}", page, size);
+        if (log.isDebugEnabled()) {
+            log.debug("REST request to get orders with pagination - page: {}, size: {}", page, size);
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -87,27 +134,110 @@ public class OrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        log.info("REST request to get orders for customer: {}", email);
+        log.debug("REST request to get orders for customer: {}", email);
         Pageable pageable = PageRequest.of(page, size);
         Page<OrderResponse> response = orderService.getOrdersByCustomerEmail(email, pageable);
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/orders/customer/{email}/history : Get a compact order history for a customer
+     * Served from memory without a database query; use GET /api/orders/{id} for the full
+     * order.
+     *
+     * @param email the customer email
+     * @param page the page number (default: 0)
+     * @param size the size of the page (default: 10)
+     * @return the ResponseEntity with status 200 (OK) and the customer's orders, newest first
+     */
+    @GetMapping("/customer/{email}/history")
+    public ResponseEntity<Page<OrderSummaryResponse>> getOrderHistory(
+            @PathVariable String email,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        log.debug("REST request to get order history for customer: {}", email);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<OrderSummaryResponse> response = orderService.getOrderHistory(email, pageable);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * PATCH /api/orders/{id}/status : Update order status
+     * 
+     * @param id the order ID
+     * @param status the new status
+     * @param version optional version the client last read; a stale version returns 409
+     * @return the ResponseEntity with status 200 (OK) and the updated order, or 409
+     *         (Conflict) if the order changed concurrently
+     */
     @PatchMapping("/{id}/status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id,
-            @RequestParam Order.OrderStatus status) {
+            @RequestParam Order.OrderStatus status,
+            @RequestParam(required = false) Long version) {
         
-        log.info("REST request to update order status for ID: {} to {}", id, status);
-        OrderResponse response = orderService.updateOrderStatus(id, status);
+        log.debug("REST request to update order status for ID: {} to {}", id, status);
+        OrderResponse response = orderService.updateOrderStatus(id, status, version);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/orders/{id}/status/stream : Follow the order status (Server-Sent Events)
+     * Sends the current status as a "status" event, then one per status change. The
+     * stream ends after a DELIVERED or CANCELLED status, or with a "deleted" event when
+     * the order is deleted. Replaces polling GET /api/orders/{id}.
+     * 
+     * @param id the order ID
+     * @return the event stream, or 503 (Service Unavailable) when the subscriber limit
+     *         has been reached
+     */
+    @GetMapping(value = "/{id}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable Long id) {
+        log.debug("REST request to stream status of order ID: {}", id);
+        return stream(orderStatusStreamService.subscribe(id));
+    }
+
+    /**
+     * GET /api/orders/order-number/{orderNumber}/status/stream : Follow the order status
+     * by order number, as GET /api/orders/{id}/status/stream.
+     * 
+     * @param orderNumber the order number
+     * @return the event stream, or 503 (Service Unavailable) when the subscriber limit
+     *         has been reached
+     */
+    @GetMapping(value = "/order-number/{orderNumber}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatusByOrderNumber(@PathVariable String orderNumber) {
+        log.debug("REST request to stream status of order number: {}", orderNumber);
+        return stream(orderStatusStreamService.subscribeByOrderNumber(orderNumber));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-        log.info("REST request to delete order with ID: {}", id);
+        log.debug("REST request to delete order with ID: {}", id);
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<SseEmitter> stream(Optional<SseEmitter> emitter) {
+        return emitter.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    private ResponseEntity<OrderResponse> created(String idempotencyKey, Object request, Supplier<OrderResponse> action) {
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(action.get(), HttpStatus.CREATED);
+        }
+        
+        IdempotencyService.Outcome<OrderResponse> outcome = idempotencyService.execute(
+                idempotencyKey, request, OrderResponse.class, action);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.isReplayed()))
+                .body(outcome.getResponse());
+    }
 }
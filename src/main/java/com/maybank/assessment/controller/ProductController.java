@@ -1,7 +1,9 @@
 package com.maybank.assessment.controller;
 
+import com.maybank.assessment.dto.ProductImportResponse;
 import com.maybank.assessment.dto.ProductRequest;
 import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.service.ProductImportService;
 import com.maybank.assessment.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,10 +12,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -22,25 +28,52 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String TEXT_CSV = "text/csv";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
-        log.info("REST request to create product: {}", request.getName());
+        log.debug("REST request to create product: {}", request.getName());
         ProductResponse response = productService.createProduct(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/products/import : Bulk create or update products from a supplier feed
+     * Rows are matched to existing products by name and applied in chunks.
+     * 
+     * @param body the request body, a CSV (with header row) or NDJSON feed
+     * @param contentType text/csv or application/x-ndjson
+     * @param chunkSize optional number of rows applied per transaction
+     * @return the ResponseEntity with status 200 (OK) and the import summary with per-row errors
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResponse> importProducts(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) Integer chunkSize) throws IOException {
+        
+        log.debug("REST request to import products ({})", contentType);
+        ProductImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        
+        ProductImportResponse response = productImportService.importProducts(body, format, chunkSize);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-        log.info("REST request to get product by ID: {}", id);
+        log.debug("REST request to get product by ID: {}", id);
         ProductResponse response = productService.getProductById(id);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        log.info("REST request to get all products");
+        log.debug("REST request to get all products");
         List<ProductResponse> response = productService.getAllProducts();
         return ResponseEntity.ok(response);
     }
@@ -61,7 +94,9 @@ public class ProductController {
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
         
-        log.info("REST request to get products with pagination - page: {}, size: {}", page, size);
+        if (log.isDebugEnabled()) {
+            log.debug("REST request to get products with pagination - page: {}, size: {}", page, size);
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
@@ -78,20 +113,52 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        log.info("REST request to get active products with pagination");
+        log.debug("REST request to get active products with pagination");
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
         Page<ProductResponse> response = productService.getActiveProductsPaginated(pageable);
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/products/browse : Browse the catalog by category and availability
+     * 
+     * @param category optional category filter
+     * @param available when true, only active products with stock are returned
+     * @param page the page number (default: 0)
+     * @param size the size of the page (default: 10)
+     * @param sortBy the field to sort by: id, name or price (default: id)
+     * @param sortDir the sort direction (default: asc)
+     * @return the ResponseEntity with status 200 (OK) and the page of products
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<Page<ProductResponse>> browseProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        
+        log.debug("REST request to browse products - category: {}, available: {}", category, available);
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") 
+                ? Sort.by(sortBy).descending() 
+                : Sort.by(sortBy).ascending();
+        
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Page<ProductResponse> response = productService.browseProducts(category, available, pageable);
+        
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<ProductResponse>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        log.info("REST request to search products with keyword: {}", keyword);
+        log.debug("REST request to search products with keyword: {}", keyword);
         Pageable pageable = PageRequest.of(page, size);
         Page<ProductResponse> response = productService.searchProducts(keyword, pageable);
         
@@ -103,14 +170,46 @@ public class ProductController {
             @PathVariable Long id,
             @Valid @RequestBody ProductRequest request) {
         
-        log.info("REST request to update product with ID: {}", id);
+        log.debug("REST request to update product with ID: {}", id);
         ProductResponse response = productService.updateProduct(id, request);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * PUT /api/products/{id}/stock-shards : Split a hot product's stock across shards
+     * Checkouts then decrement one shard each instead of the product row. Calling it on a
+     * sharded product re-splits the current stock across the new number of shards.
+     *
+     * @param id the product ID
+     * @param shards the number of stock shards (default: 16)
+     * @return the ResponseEntity with status 200 (OK) and the updated product
+     */
+    @PutMapping("/{id}/stock-shards")
+    public ResponseEntity<ProductResponse> shardStock(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "16") int shards) {
+        
+        log.debug("REST request to shard stock of product with ID: {} into {} shards", id, shards);
+        ProductResponse response = productService.shardStock(id, shards);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /api/products/{id}/stock-shards : Move a sharded product's stock back to the product row
+     *
+     * @param id the product ID
+     * @return the ResponseEntity with status 200 (OK) and the updated product
+     */
+    @DeleteMapping("/{id}/stock-shards")
+    public ResponseEntity<ProductResponse> unshardStock(@PathVariable Long id) {
+        log.debug("REST request to unshard stock of product with ID: {}", id);
+        ProductResponse response = productService.unshardStock(id);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        log.info("REST request to delete product with ID: {}", id);
+        log.debug("REST request to delete product with ID: {}", id);
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
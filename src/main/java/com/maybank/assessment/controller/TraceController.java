@@ -0,0 +1,34 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.dto.TraceResponse;
+import com.maybank.assessment.tracing.TraceExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TraceExporter traceExporter;
+
+    /**
+     * GET /api/traces/slow : Recent slow-request exemplars
+     * Each trace breaks the request down into controller, service, repository,
+     * connection-pool, outbound HTTP and response serialization spans.
+     * 
+     * @return the ResponseEntity with status 200 (OK) and the exemplars, newest first
+     */
+    @GetMapping("/slow")
+    public ResponseEntity<List<TraceResponse>> getSlowTraces() {
+        log.debug("REST request to get slow-request trace exemplars");
+        return ResponseEntity.ok(traceExporter.exemplars());
+    }
+}
@@ -0,0 +1,21 @@
+package com.maybank.assessment.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method's database work on the connection pool of the given workload
+ * class. The outermost annotated call decides; a nested call inside it, or any call made
+ * once a transaction already holds a connection, keeps that connection's pool.
+ * Unannotated work uses the transactional pool.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,34 @@
+package com.maybank.assessment.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the workload class of {@link Workload}-annotated methods to the calling thread.
+ * Runs outside the transaction advice (but inside tracing), so the transaction's
+ * connection is already taken from the right pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WorkloadAspect {
+
+    @Around("@annotation(workload)")
+    public Object route(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        WorkloadClass outer = WorkloadRoutingDataSource.current();
+        if (outer != null) {
+            return joinPoint.proceed();
+        }
+
+        WorkloadRoutingDataSource.bind(workload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.bind(null);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.maybank.assessment.datasource;
+
+/**
+ * Classes of database work, each served by its own connection pool so one class cannot
+ * exhaust the connections another depends on.
+ */
+public enum WorkloadClass {
+
+    /** Checkouts and other writes; the default for unannotated work. */
+    TRANSACTIONAL("transactional"),
+
+    /** Short interactive reads: single lookups, catalog pages and searches. */
+    READ("read"),
+
+    /** Long-running reads and bulk writes: unpaginated exports, imports and order archiving. */
+    BATCH("batch");
+
+    private final String poolName;
+
+    WorkloadClass(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * The pool's name, used as the {@code pool} tag of its hikaricp.* metrics.
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,32 @@
+package com.maybank.assessment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The connection pool of each workload class. Closed with the application context.
+ */
+public class WorkloadConnectionPools implements AutoCloseable {
+
+    private final Map<WorkloadClass, HikariDataSource> pools;
+
+    public WorkloadConnectionPools(Map<WorkloadClass, HikariDataSource> pools) {
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+    }
+
+    public HikariDataSource get(WorkloadClass workloadClass) {
+        return pools.get(workloadClass);
+    }
+
+    public Map<WorkloadClass, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
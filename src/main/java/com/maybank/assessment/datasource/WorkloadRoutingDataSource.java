@@ -0,0 +1,77 @@
+package com.maybank.assessment.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Hands out connections from the pool of the workload class bound to the current thread
+ * by {@link WorkloadAspect}, or from the transactional pool when none is bound.
+ * Unwrapping always reaches the transactional pool, so Hikari-specific callers see the
+ * same pool regardless of the calling thread.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private final WorkloadConnectionPools pools;
+
+    public WorkloadRoutingDataSource(WorkloadConnectionPools pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools.getPools()));
+        setDefaultTargetDataSource(pools.get(WorkloadClass.TRANSACTIONAL));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the workload class bound to the current thread, or null.
+     */
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps the executor so every task it runs is bound to the workload class, for work
+     * handed off to other threads where {@link Workload} cannot apply.
+     */
+    public static Executor bound(WorkloadClass workloadClass, Executor executor) {
+        return task -> executor.execute(() -> {
+            bind(workloadClass);
+            try {
+                task.run();
+            } finally {
+                bind(null);
+            }
+        });
+    }
+
+    static void bind(WorkloadClass workloadClass) {
+        if (workloadClass == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workloadClass);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        WorkloadClass workloadClass = CURRENT.get();
+        return workloadClass != null ? workloadClass : WorkloadClass.TRANSACTIONAL;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return pools.get(WorkloadClass.TRANSACTIONAL).unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || pools.get(WorkloadClass.TRANSACTIONAL).isWrapperFor(iface);
+    }
+}
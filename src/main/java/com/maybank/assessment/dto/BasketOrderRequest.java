@@ -0,0 +1,31 @@
+package com.maybank.assessment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BasketOrderRequest {
+
+    @NotBlank(message = "Customer name is required")
+    @Size(max = 100, message = "Customer name must not exceed 100 characters")
+    private String customerName;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email format")
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String customerEmail;
+
+    @NotEmpty(message = "At least one order line is required")
+    @Size(max = 100, message = "An order must not exceed 100 lines")
+    private List<@Valid @NotNull OrderLineRequest> lines;
+
+    @Size(max = 500, message = "Notes must not exceed 500 characters")
+    private String notes;
+}
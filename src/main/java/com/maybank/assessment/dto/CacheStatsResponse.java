@@ -0,0 +1,39 @@
+package com.maybank.assessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class CacheStatsResponse {
+
+    /**
+     * Whether Hibernate collects statistics (hibernate.generate_statistics); when it
+     * does not, every count is 0.
+     */
+    private boolean statisticsEnabled;
+
+    private List<RegionStats> regions = new ArrayList<>();
+
+    /**
+     * JDBC statements prepared since startup; diff two readings to count the SELECTs
+     * a request issued.
+     */
+    private long statementsPrepared;
+    private long entityLoads;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RegionStats {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRatio;
+    }
+}
@@ -0,0 +1,27 @@
+package com.maybank.assessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    private List<ChangeResponse> changes;
+
+    /** Cursor for the next request: the sequence number of the last change returned. */
+    private long nextSince;
+
+    /** True when the page is full and more changes are already available. */
+    private boolean hasMore;
+
+    /**
+     * True when changes after {@code since} have already been pruned; the consumer has
+     * missed changes and must reload the entities before following the feed again.
+     */
+    private boolean resyncRequired;
+}
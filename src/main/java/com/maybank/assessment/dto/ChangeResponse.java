@@ -0,0 +1,20 @@
+package com.maybank.assessment.dto;
+
+import com.maybank.assessment.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeResponse {
+
+    private Long seq;
+    private ChangeLogEntry.EntityType entityType;
+    private Long entityId;
+    private ChangeLogEntry.ChangeType changeType;
+    private LocalDateTime changedAt;
+}
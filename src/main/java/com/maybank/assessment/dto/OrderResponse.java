@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,9 +20,11 @@ public class OrderResponse {
     private String customerEmail;
     private ProductResponse product;
     private Integer quantity;
+    private List<OrderLineResponse> lines;
     private BigDecimal totalAmount;
     private Order.OrderStatus status;
     private String notes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
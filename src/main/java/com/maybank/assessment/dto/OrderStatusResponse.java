@@ -0,0 +1,20 @@
+package com.maybank.assessment.dto;
+
+import com.maybank.assessment.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+
+    private Long id;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private Long version;
+    private LocalDateTime updatedAt;
+}
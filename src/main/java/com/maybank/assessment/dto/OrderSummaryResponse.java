@@ -0,0 +1,21 @@
+package com.maybank.assessment.dto;
+
+import com.maybank.assessment.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+
+    private Long id;
+    private Integer quantity;
+    private BigDecimal totalAmount;
+    private Order.OrderStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.maybank.assessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeResponse {
+
+    /** UP when every check passes, otherwise DOWN (liveness) or OUT_OF_SERVICE (readiness). */
+    private String status;
+
+    private LocalDateTime timestamp;
+
+    private Map<String, Check> checks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+
+        /** UP, DOWN, or DEGRADED for a signal that is reported but does not fail the probe. */
+        private String status;
+
+        /** The observed value: a count, a percentage or a state name. */
+        private Object value;
+
+        /** The value at or above which the check fails, or null when it has no limit. */
+        private Number limit;
+    }
+}
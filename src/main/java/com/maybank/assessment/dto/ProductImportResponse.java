@@ -0,0 +1,30 @@
+package com.maybank.assessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ProductImportResponse {
+
+    private long totalRows;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private int chunks;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -32,4 +32,10 @@ public class ProductRequest {
     private String category;
 
     private Boolean active = true;
+
+    /**
+     * Version the client last read. When present, the update is rejected with 409 if the
+     * product has changed since; when absent, the update applies to the latest version.
+     */
+    private Long version;
 }
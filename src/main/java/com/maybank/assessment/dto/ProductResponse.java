@@ -21,4 +21,5 @@ public class ProductResponse {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
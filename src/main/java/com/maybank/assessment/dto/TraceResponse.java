@@ -0,0 +1,41 @@
+package com.maybank.assessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class TraceResponse {
+
+    private String traceId;
+    private String name;
+    private Instant startTime;
+    private int status;
+    private double durationMs;
+    private boolean sampled;
+    private boolean exemplar;
+    private int droppedSpans;
+    private List<SpanData> spans = new ArrayList<>();
+
+    /**
+     * Timings are in microseconds; {@code selfUs} excludes time spent in child spans.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SpanData {
+        private String spanId;
+        private String parentSpanId;
+        private String name;
+        private String kind;
+        private long startOffsetUs;
+        private long durationUs;
+        private long selfUs;
+        private String error;
+    }
+}
@@ -0,0 +1,65 @@
+package com.maybank.assessment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the change feed: an entity that was created, updated or deleted, written
+ * in the same transaction as the change itself. Sequence numbers are taken from
+ * {@code change_log_seq} just before the transaction commits.
+ */
+@Entity
+@Table(name = "change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry implements Persistable<Long> {
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    @Override
+    public Long getId() {
+        return seq;
+    }
+
+    /**
+     * Entries are only ever inserted, so saving one never needs to look it up first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public enum EntityType {
+        PRODUCT,
+        ORDER
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** Moved to the order archive; still readable by ID and order number. */
+        ARCHIVED
+    }
+}
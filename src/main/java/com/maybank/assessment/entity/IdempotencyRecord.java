@@ -0,0 +1,33 @@
+package com.maybank.assessment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Lob
+    @Column(nullable = false)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -3,12 +3,19 @@ package com.maybank.assessment.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "orders")
@@ -30,13 +37,27 @@ public class Order {
     @Column(nullable = false, length = 100)
     private String customerEmail;
 
+    /**
+     * The ordered product for single-product orders; null for multi-line orders,
+     * whose products are held in {@link #lines}.
+     */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(name = "product_id")
     private Product product;
 
+    /**
+     * Ordered units; for multi-line orders, the total across all lines.
+     */
     @Column(nullable = false)
     private Integer quantity;
 
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderLine> lines = new ArrayList<>();
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
@@ -55,6 +76,13 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic-locking version, incremented on every update.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum OrderStatus {
         PENDING,
         CONFIRMED,
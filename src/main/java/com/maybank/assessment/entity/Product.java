@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +14,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,9 +34,19 @@ public class Product {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    /**
+     * Units in stock. Always 0 for a sharded product, whose stock is held in
+     * product_stock_shards (see {@code StockShardService}).
+     */
     @Column(nullable = false)
     private Integer stockQuantity;
 
+    /**
+     * Number of stock shards, or 0 when the product's stock is held in {@link #stockQuantity}.
+     */
+    @Column(nullable = false)
+    private Integer stockShards = 0;
+
     @Column(length = 50)
     private String category;
 
@@ -46,4 +60,12 @@ public class Product {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic-locking version, incremented on every update (including the batched
+     * stock decrement, which bumps it in SQL).
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,22 @@
+package com.maybank.assessment.event;
+
+import com.maybank.assessment.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a transaction changes the status of an order, so that clients
+ * following the order can be told once it commits.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final Order.OrderStatus status;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+}
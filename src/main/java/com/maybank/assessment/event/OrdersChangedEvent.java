@@ -0,0 +1,20 @@
+package com.maybank.assessment.event;
+
+import com.maybank.assessment.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published after a transaction creates, updates or deletes orders of one customer, so
+ * that derived views of order history can refresh the affected entries.
+ */
+@Getter
+@AllArgsConstructor
+public class OrdersChangedEvent {
+
+    private final String customerEmail;
+    private final List<Long> orderIds;
+    private final ChangeLogEntry.ChangeType changeType;
+}
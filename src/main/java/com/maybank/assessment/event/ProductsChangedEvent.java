@@ -0,0 +1,19 @@
+package com.maybank.assessment.event;
+
+import com.maybank.assessment.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published after a transaction changes one or more products, so that derived views
+ * of the catalog (search, caches, indexes) can refresh the affected entries.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsChangedEvent {
+
+    private final List<Long> productIds;
+    private final ChangeLogEntry.ChangeType changeType;
+}
@@ -0,0 +1,19 @@
+package com.maybank.assessment.exception;
+
+import lombok.Getter;
+
+/**
+ * A write lost a concurrent-modification race. When {@code retryable}, resending the
+ * same request is expected to succeed; otherwise the client must re-read the resource
+ * before retrying.
+ */
+@Getter
+public class ConflictException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public ConflictException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+}
@@ -1,10 +1,16 @@
 package com.maybank.assessment.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -34,6 +40,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Event-stream clients (EventSource) only accept text/event-stream, which an error
+     * body cannot be written as; they get the status alone.
+     */
+    @ExceptionHandler(value = ResourceNotFoundException.class, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Void> handleResourceNotFoundExceptionForEventStream(ResourceNotFoundException ex) {
+        log.error("Resource not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             BadRequestException ex, HttpServletRequest request) {
@@ -51,6 +67,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(
+            ConflictException ex, HttpServletRequest request) {
+        
+        log.warn("Conflict: {}", ex.getMessage());
+        return conflict(ex.getMessage(), ex.isRetryable(), request);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return conflict("The resource was modified concurrently, please retry", true, request);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -74,9 +106,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * No representation matches the Accept header (for example an unknown schema version
+     * of a binary media type). The body is empty because none of the error
+     * representations would be acceptable either.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleMediaTypeNotAcceptableException(
+            HttpMediaTypeNotAcceptableException ex, HttpServletRequest request) {
+        
+        log.warn("Not acceptable: {} for {}", ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleMediaTypeNotSupportedException(
+            HttpMediaTypeNotSupportedException ex, HttpServletRequest request) {
+        
+        log.warn("Unsupported media type: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
-            Exception ex, HttpServletRequest request) {
+            Exception ex, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        
+        // A streamed response cut off mid-way cannot report the error in its body; rethrown,
+        // the container aborts the connection so the client sees a transport error instead
+        // of a truncated 200
+        if (response.isCommitted()) {
+            throw ex;
+        }
         
         log.error("Internal server error: ", ex);
         
@@ -90,4 +159,27 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * 409 response; retryable conflicts carry a Retry-After hint, the others tell the
+     * client to reload the resource first.
+     */
+    private ResponseEntity<ErrorResponse> conflict(String message, boolean retryable, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                message,
+                request.getRequestURI(),
+                List.of(retryable
+                        ? "Retry the same request after the Retry-After delay"
+                        : "Reload the resource to get its current version, then reapply the change")
+        );
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CONFLICT);
+        if (retryable) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(errorResponse);
+    }
 }
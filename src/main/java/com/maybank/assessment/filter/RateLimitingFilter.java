@@ -0,0 +1,101 @@
+package com.maybank.assessment.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.config.RateLimitProperties;
+import com.maybank.assessment.exception.ErrorResponse;
+import com.maybank.assessment.service.LoadSheddingService;
+import com.maybank.assessment.service.RateLimiterService;
+import com.maybank.assessment.service.WarmupService;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for /api/** requests: adaptive load shedding when the connection
+ * pool is saturated (503), then per-client token-bucket rate limiting (429).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class RateLimitingFilter implements Filter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String HEALTH_PATH = "/api/health";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final RateLimiterService rateLimiterService;
+    private final LoadSheddingService loadSheddingService;
+    private final WarmupService warmupService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String path = httpRequest.getRequestURI();
+        
+        if (!properties.isEnabled() || !path.startsWith(API_PREFIX) || path.startsWith(HEALTH_PATH)
+                || warmupService.isWarmupRequest(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        if (loadSheddingService.shouldShed()) {
+            log.warn("Shedding request {} {}: connection pool saturated", httpRequest.getMethod(), path);
+            reject(httpRequest, httpResponse, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Service is overloaded, please retry later");
+            return;
+        }
+        
+        String clientKey = resolveClientKey(httpRequest);
+        long waitNanos = rateLimiterService.tryAcquire(httpRequest.getMethod(), path, clientKey);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            log.warn("Rate limit exceeded for client {} on {} {}", clientKey, httpRequest.getMethod(), path);
+            reject(httpRequest, httpResponse, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "Rate limit exceeded, retry after " + retryAfterSeconds + " second(s)");
+            return;
+        }
+        
+        chain.doFilter(request, response);
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getClientKeyHeader());
+        return apiKey != null && properties.getApiKeys().contains(apiKey)
+                ? "key:" + apiKey
+                : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
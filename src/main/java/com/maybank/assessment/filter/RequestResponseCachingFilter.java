@@ -1,34 +1,155 @@
 package com.maybank.assessment.filter;
 
-import jakarta.servlet.*;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.WebUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * Wraps the request and response so their bodies can be logged. For async requests the
+ * cached body is only copied to the client once the final async dispatch has completed.
+ *
+ * <p>Requests for streaming handlers are left unwrapped so their bodies are never
+ * buffered in memory. A handler streams when it returns a {@link StreamingResponseBody}
+ * or a {@link ResponseBodyEmitter} (such as an SSE emitter), directly or in a
+ * {@link HttpEntity}, or when it reads the raw request body through an
+ * {@link InputStream} parameter. The streaming mappings are collected from the controller
+ * mappings on first use, and only a request that matches one of them is looked up the
+ * way the dispatcher will look it up, to confirm no more specific mapping wins. Other
+ * requests cost a few pattern matches rather than a full handler lookup.
+ */
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
-public class RequestResponseCachingFilter implements Filter {
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestResponseCachingFilter extends OncePerRequestFilter {
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+
+    // Built on first use, once the controller mappings are registered
+    private volatile StreamingRoutes streamingRoutes;
+
+    private record StreamingRoutes(List<RequestMappingInfo> mappings, Set<Method> methods) {
+    }
+
+    public RequestResponseCachingFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
 
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        StreamingRoutes routes = streamingRoutes();
+        if (routes.mappings().isEmpty()) {
+            return false;
+        }
         
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        Object previousPath = request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            if (routes.mappings().stream().noneMatch(mapping -> mapping.getMatchingCondition(request) != null)) {
+                return false;
+            }
+            HandlerExecutionChain chain = handlerMapping.getObject().getHandler(request);
+            return chain != null && chain.getHandler() instanceof HandlerMethod method
+                    && routes.methods().contains(method.getMethod());
+        } catch (Exception e) {
+            // The dispatcher reports it; the request is buffered as usual
+            return false;
+        } finally {
+            ProducesRequestCondition.clearMediaTypesAttribute(request);
+            if (previousPath != null) {
+                request.setAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE, previousPath);
+            } else {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
         
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
+        HttpServletRequest requestWrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class) != null
+                ? request
+                : new ContentCachingRequestWrapper(request);
+        ContentCachingResponseWrapper responseWrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (responseWrapper == null) {
+            responseWrapper = new ContentCachingResponseWrapper(response);
+        }
         
         try {
             chain.doFilter(requestWrapper, responseWrapper);
         } finally {
-            responseWrapper.copyBodyToResponse();
+            if (!isAsyncStarted(requestWrapper)) {
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private StreamingRoutes streamingRoutes() {
+        StreamingRoutes routes = streamingRoutes;
+        if (routes == null) {
+            List<RequestMappingInfo> mappings = new ArrayList<>();
+            Set<Method> methods = new HashSet<>();
+            handlerMapping.getObject().getHandlerMethods().forEach((mapping, handler) -> {
+                if (isStreaming(handler)) {
+                    mappings.add(mapping);
+                    methods.add(handler.getMethod());
+                }
+            });
+            routes = new StreamingRoutes(List.copyOf(mappings), Set.copyOf(methods));
+            streamingRoutes = routes;
+        }
+        return routes;
+    }
+
+    private static boolean isStreaming(HandlerMethod handler) {
+        Class<?> returnType = handler.getReturnType().getParameterType();
+        if (HttpEntity.class.isAssignableFrom(returnType)) {
+            returnType = ResolvableType.forMethodReturnType(handler.getMethod()).as(HttpEntity.class)
+                    .getGeneric(0).toClass();
+        }
+        if (StreamingResponseBody.class.isAssignableFrom(returnType)
+                || ResponseBodyEmitter.class.isAssignableFrom(returnType)) {
+            return true;
+        }
+        for (MethodParameter parameter : handler.getMethodParameters()) {
+            if (InputStream.class.isAssignableFrom(parameter.getParameterType())) {
+                return true;
+            }
         }
+        return false;
     }
 }
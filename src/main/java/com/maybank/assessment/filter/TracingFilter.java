@@ -0,0 +1,94 @@
+package com.maybank.assessment.filter;
+
+import com.maybank.assessment.config.TracingProperties;
+import com.maybank.assessment.tracing.Span;
+import com.maybank.assessment.tracing.Trace;
+import com.maybank.assessment.tracing.TraceExporter;
+import com.maybank.assessment.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: opens the server span for each /api/** request, continuing the
+ * caller's W3C trace context, and hands the trace to the exporter once the response
+ * is complete. Async requests keep the trace open across the async dispatch.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ATTRIBUTE = TracingFilter.class.getName() + ".trace";
+    public static final String RESPONSE_WRITE_SPAN_ATTRIBUTE = TracingFilter.class.getName() + ".responseWrite";
+    public static final String TRACERESPONSE_HEADER = "traceresponse";
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private static final String API_PREFIX = "/api/";
+    private static final String HEALTH_PATH = "/api/health";
+    // Event-stream subscriptions stay open for minutes and would all be reported as slow
+    private static final String SUBSCRIPTION_SUFFIX = "/status/stream";
+
+    private final TracingProperties properties;
+    private final Tracer tracer;
+    private final TraceExporter traceExporter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !properties.isEnabled() || !path.startsWith(API_PREFIX) || path.startsWith(HEALTH_PATH)
+                || path.endsWith(SUBSCRIPTION_SUFFIX);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        
+        Trace trace = (Trace) request.getAttribute(TRACE_ATTRIBUTE);
+        if (trace == null) {
+            trace = tracer.startTrace(request.getHeader(Tracer.TRACEPARENT_HEADER),
+                    request.getMethod() + " " + request.getRequestURI());
+            request.setAttribute(TRACE_ATTRIBUTE, trace);
+            response.setHeader(TRACERESPONSE_HEADER, trace.getRoot().traceparent());
+        }
+        
+        Span root = trace.getRoot();
+        Span previous = tracer.activate(root);
+        MDC.put(TRACE_ID_MDC_KEY, trace.getTraceId());
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            root.fail(e);
+            throw e;
+        } finally {
+            tracer.restore(previous);
+            MDC.remove(TRACE_ID_MDC_KEY);
+            if (!request.isAsyncStarted()) {
+                Span responseWrite = (Span) request.getAttribute(RESPONSE_WRITE_SPAN_ATTRIBUTE);
+                if (responseWrite != null) {
+                    responseWrite.end();
+                }
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    trace.rename(request.getMethod() + " " + pattern);
+                }
+                traceExporter.complete(trace, response.getStatus());
+            }
+        }
+    }
+}
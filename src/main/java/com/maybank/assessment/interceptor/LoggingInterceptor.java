@@ -1,8 +1,11 @@
 package com.maybank.assessment.interceptor;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -10,27 +13,48 @@ import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class LoggingInterceptor implements HandlerInterceptor {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString METHOD = new SerializedString("method");
+    private static final SerializedString URI = new SerializedString("uri");
+    private static final SerializedString QUERY_STRING = new SerializedString("queryString");
+    private static final SerializedString REMOTE_ADDR = new SerializedString("remoteAddr");
+    private static final SerializedString HEADERS = new SerializedString("headers");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DURATION = new SerializedString("duration");
+    private static final SerializedString BODY = new SerializedString("body");
+
+    // Shared Boot mapper; log entries are streamed through its generator, field by field
+    private final ObjectMapper objectMapper;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute("startTime", startTime);
+        // Async requests pass through preHandle again on dispatch; keep the original start time
+        if (request.getAttribute("startTime") == null) {
+            long startTime = System.currentTimeMillis();
+            request.setAttribute("startTime", startTime);
+        }
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        // Skip building the log maps and copying bodies when the logger is switched off
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        
         long startTime = (Long) request.getAttribute("startTime");
         long endTime = System.currentTimeMillis();
         long duration = endTime - startTime;
@@ -44,26 +68,32 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
     private void logRequestDetails(HttpServletRequest request, long duration) {
         try {
-            Map<String, Object> requestLog = new HashMap<>();
-            requestLog.put("timestamp", LocalDateTime.now());
-            requestLog.put("type", "REQUEST");
-            requestLog.put("method", request.getMethod());
-            requestLog.put("uri", request.getRequestURI());
-            requestLog.put("queryString", request.getQueryString());
-            requestLog.put("remoteAddr", request.getRemoteAddr());
-            requestLog.put("headers", getHeaders(request));
-            
-            // Log request body if available
-            if (request instanceof ContentCachingRequestWrapper) {
-                ContentCachingRequestWrapper wrapper = (ContentCachingRequestWrapper) request;
-                byte[] buf = wrapper.getContentAsByteArray();
-                if (buf.length > 0) {
-                    String payload = new String(buf, StandardCharsets.UTF_8);
-                    requestLog.put("body", payload);
+            StringWriter out = new StringWriter(256);
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartObject();
+                writeTimestamp(gen);
+                writeString(gen, TYPE, "REQUEST");
+                writeString(gen, METHOD, request.getMethod());
+                writeString(gen, URI, request.getRequestURI());
+                writeString(gen, QUERY_STRING, request.getQueryString());
+                writeString(gen, REMOTE_ADDR, request.getRemoteAddr());
+                gen.writeFieldName(HEADERS);
+                gen.writeStartObject();
+                Enumeration<String> headerNames = request.getHeaderNames();
+                while (headerNames.hasMoreElements()) {
+                    String headerName = headerNames.nextElement();
+                    gen.writeStringField(headerName, request.getHeader(headerName));
+                }
+                gen.writeEndObject();
+                
+                // Log request body if available
+                if (request instanceof ContentCachingRequestWrapper wrapper) {
+                    writeBody(gen, wrapper.getContentAsByteArray(), wrapper.getContentType());
                 }
+                gen.writeEndObject();
             }
             
-            log.info("REQUEST LOG: {}", objectMapper.writeValueAsString(requestLog));
+            log.info("REQUEST LOG: {}", out);
         } catch (Exception e) {
             log.error("Error logging request", e);
         }
@@ -71,35 +101,46 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
     private void logResponseDetails(HttpServletResponse response, long duration) {
         try {
-            Map<String, Object> responseLog = new HashMap<>();
-            responseLog.put("timestamp", LocalDateTime.now());
-            responseLog.put("type", "RESPONSE");
-            responseLog.put("status", response.getStatus());
-            responseLog.put("duration", duration + "ms");
-            
-            // Log response body if available
-            if (response instanceof ContentCachingResponseWrapper) {
-                ContentCachingResponseWrapper wrapper = (ContentCachingResponseWrapper) response;
-                byte[] buf = wrapper.getContentAsByteArray();
-                if (buf.length > 0) {
-                    String payload = new String(buf, StandardCharsets.UTF_8);
-                    responseLog.put("body", payload);
+            StringWriter out = new StringWriter(256);
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartObject();
+                writeTimestamp(gen);
+                writeString(gen, TYPE, "RESPONSE");
+                gen.writeFieldName(STATUS);
+                gen.writeNumber(response.getStatus());
+                writeString(gen, DURATION, duration + "ms");
+                
+                // Log response body if available
+                if (response instanceof ContentCachingResponseWrapper wrapper) {
+                    writeBody(gen, wrapper.getContentAsByteArray(), wrapper.getContentType());
                 }
+                gen.writeEndObject();
             }
             
-            log.info("RESPONSE LOG: {}", objectMapper.writeValueAsString(responseLog));
+            log.info("RESPONSE LOG: {}", out);
         } catch (Exception e) {
             log.error("Error logging response", e);
         }
     }
 
-    private Map<String, String> getHeaders(HttpServletRequest request) {
-        Map<String, String> headers = new HashMap<>();
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            headers.put(headerName, request.getHeader(headerName));
+    private static void writeTimestamp(JsonGenerator gen) throws IOException {
+        writeString(gen, TIMESTAMP, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now()));
+    }
+
+    // CBOR and Smile bodies are not text; only their size and type are logged
+    private static void writeBody(JsonGenerator gen, byte[] body, String contentType) throws IOException {
+        if (body.length == 0) {
+            return;
         }
-        return headers;
+        if (contentType != null && (contentType.contains("cbor") || contentType.contains("smile"))) {
+            writeString(gen, BODY, "<" + body.length + " bytes " + contentType + ">");
+        } else {
+            writeString(gen, BODY, new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
     }
 }
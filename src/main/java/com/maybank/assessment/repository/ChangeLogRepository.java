@@ -0,0 +1,37 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeqAsc(Long since, Limit limit);
+
+    /**
+     * Takes the next value of change_log_seq, which reserves it and the numbers below the
+     * following value. Takes no lock.
+     */
+    @Query(value = "SELECT NEXT VALUE FOR change_log_seq", nativeQuery = true)
+    long nextSeq();
+
+    @Query("SELECT MIN(c.seq) FROM ChangeLogEntry c")
+    Long findMinSeq();
+
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c WHERE c.changedAt < :cutoff")
+    Long findMaxSeqChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.seq <= :upTo")
+    int deleteUpTo(@Param("upTo") Long upTo);
+}
@@ -0,0 +1,35 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt < :now")
+    int deleteExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    /**
+     * Inserts the record in the caller's transaction. Unlike {@code save}, which merges
+     * an entity with an assigned ID, this fails on a key that is already taken.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, response_body, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, :responseBody, :createdAt, :expiresAt)", nativeQuery = true)
+    void insert(@Param("key") String key, @Param("requestHash") String requestHash,
+                @Param("responseBody") String responseBody, @Param("createdAt") LocalDateTime createdAt,
+                @Param("expiresAt") LocalDateTime expiresAt);
+}
@@ -0,0 +1,44 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.Order;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves finished orders from orders and order_lines into the archive tables, and reads
+ * archived orders back.
+ */
+public interface OrderArchiveRepository {
+
+    /**
+     * Finds up to {@code limit} orders in one of the statuses that were last updated
+     * before the cutoff, least recently updated first. An order in a final status is no
+     * longer updated, so this is when it reached that status.
+     */
+    List<Long> findArchivableIds(Collection<Order.OrderStatus> statuses, LocalDateTime updatedBefore, int limit);
+
+    /**
+     * Moves the orders and their lines to the archive, skipping any that are no longer in
+     * one of the statuses. The orders are locked before they are copied, so an order
+     * changed concurrently is either archived in its final state or left in place.
+     *
+     * @return the customer email of each archived order, keyed by order ID
+     */
+    Map<Long, String> archive(Collection<Long> orderIds, Collection<Order.OrderStatus> statuses,
+                              LocalDateTime archivedAt);
+
+    /**
+     * Reads an archived order with its lines. The order is a detached snapshot; products
+     * are lazy references loaded on first access.
+     */
+    Optional<Order> findArchivedById(Long id);
+
+    /**
+     * @see #findArchivedById(Long)
+     */
+    Optional<Order> findArchivedByOrderNumber(String orderNumber);
+}
@@ -0,0 +1,165 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.entity.OrderLine;
+import com.maybank.assessment.entity.Product;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    private static final String ORDER_COLUMNS =
+            "id, order_number, customer_name, customer_email, product_id, quantity, total_amount, status, notes, " +
+            "created_at, updated_at, version";
+
+    private static final String LINE_COLUMNS = "id, order_id, product_id, quantity, unit_price, line_total";
+
+    private static final String SELECT_ARCHIVABLE_SQL =
+            "SELECT id FROM orders WHERE status IN (%s) AND updated_at < ? " +
+            "ORDER BY updated_at OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+
+    // A no-op update takes the same row locks on every database, unlike SELECT ... FOR UPDATE
+    private static final String LOCK_ORDERS_SQL =
+            "UPDATE orders SET version = version WHERE id IN (%s) AND status IN (%s)";
+
+    private static final String SELECT_LOCKED_SQL =
+            "SELECT id, customer_email FROM orders WHERE id IN (%s) AND status IN (%s)";
+
+    private static final String COPY_ORDERS_SQL =
+            "INSERT INTO orders_archive (" + ORDER_COLUMNS + ", created_month, archived_at) " +
+            "SELECT " + ORDER_COLUMNS + ", YEAR(created_at) * 100 + MONTH(created_at), ? FROM orders WHERE id IN (%s)";
+
+    private static final String COPY_LINES_SQL =
+            "INSERT INTO order_lines_archive (" + LINE_COLUMNS + ") " +
+            "SELECT " + LINE_COLUMNS + " FROM order_lines WHERE order_id IN (%s)";
+
+    private static final String DELETE_LINES_SQL = "DELETE FROM order_lines WHERE order_id IN (%s)";
+
+    private static final String DELETE_ORDERS_SQL = "DELETE FROM orders WHERE id IN (%s)";
+
+    private static final String SELECT_ARCHIVED_BY_ID_SQL =
+            "SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE id = ?";
+
+    private static final String SELECT_ARCHIVED_BY_NUMBER_SQL =
+            "SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE order_number = ?";
+
+    private static final String SELECT_ARCHIVED_LINES_SQL =
+            "SELECT " + LINE_COLUMNS + " FROM order_lines_archive WHERE order_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> findArchivableIds(Collection<Order.OrderStatus> statuses, LocalDateTime updatedBefore, int limit) {
+        List<Object> args = new ArrayList<>(statusNames(statuses));
+        args.add(Timestamp.valueOf(updatedBefore));
+        args.add(limit);
+        return jdbcTemplate.queryForList(String.format(SELECT_ARCHIVABLE_SQL, placeholders(statuses.size())),
+                Long.class, args.toArray());
+    }
+
+    @Override
+    public Map<Long, String> archive(Collection<Long> orderIds, Collection<Order.OrderStatus> statuses,
+                                     LocalDateTime archivedAt) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        List<Object> args = new ArrayList<>(orderIds);
+        args.addAll(statusNames(statuses));
+        String ids = placeholders(orderIds.size());
+        jdbcTemplate.update(String.format(LOCK_ORDERS_SQL, ids, placeholders(statuses.size())), args.toArray());
+        
+        Map<Long, String> archived = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(SELECT_LOCKED_SQL, ids, placeholders(statuses.size())), rs -> {
+            archived.put(rs.getLong(1), rs.getString(2));
+        }, args.toArray());
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        
+        Object[] archivedIds = archived.keySet().toArray();
+        String archivedPlaceholders = placeholders(archivedIds.length);
+        List<Object> copyArgs = new ArrayList<>(archivedIds.length + 1);
+        copyArgs.add(Timestamp.valueOf(archivedAt));
+        copyArgs.addAll(archived.keySet());
+        jdbcTemplate.update(String.format(COPY_ORDERS_SQL, archivedPlaceholders), copyArgs.toArray());
+        jdbcTemplate.update(String.format(COPY_LINES_SQL, archivedPlaceholders), archivedIds);
+        jdbcTemplate.update(String.format(DELETE_LINES_SQL, archivedPlaceholders), archivedIds);
+        jdbcTemplate.update(String.format(DELETE_ORDERS_SQL, archivedPlaceholders), archivedIds);
+        return archived;
+    }
+
+    @Override
+    public Optional<Order> findArchivedById(Long id) {
+        return findArchived(SELECT_ARCHIVED_BY_ID_SQL, id);
+    }
+
+    @Override
+    public Optional<Order> findArchivedByOrderNumber(String orderNumber) {
+        return findArchived(SELECT_ARCHIVED_BY_NUMBER_SQL, orderNumber);
+    }
+
+    private Optional<Order> findArchived(String sql, Object key) {
+        List<Order> orders = jdbcTemplate.query(sql, (rs, rowNum) -> mapOrder(rs), key);
+        if (orders.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Order order = orders.get(0);
+        order.getLines().addAll(jdbcTemplate.query(SELECT_ARCHIVED_LINES_SQL, (rs, rowNum) -> mapLine(rs, order),
+                order.getId()));
+        return Optional.of(order);
+    }
+
+    private Order mapOrder(ResultSet rs) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getLong("id"));
+        order.setOrderNumber(rs.getString("order_number"));
+        order.setCustomerName(rs.getString("customer_name"));
+        order.setCustomerEmail(rs.getString("customer_email"));
+        long productId = rs.getLong("product_id");
+        order.setProduct(rs.wasNull() ? null : entityManager.getReference(Product.class, productId));
+        order.setQuantity(rs.getInt("quantity"));
+        order.setTotalAmount(rs.getBigDecimal("total_amount"));
+        order.setStatus(Order.OrderStatus.valueOf(rs.getString("status")));
+        order.setNotes(rs.getString("notes"));
+        order.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        order.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        order.setVersion(rs.getLong("version"));
+        return order;
+    }
+
+    private OrderLine mapLine(ResultSet rs, Order order) throws SQLException {
+        OrderLine line = new OrderLine();
+        line.setId(rs.getLong("id"));
+        line.setOrder(order);
+        line.setProduct(entityManager.getReference(Product.class, rs.getLong("product_id")));
+        line.setQuantity(rs.getInt("quantity"));
+        line.setUnitPrice(rs.getBigDecimal("unit_price"));
+        line.setLineTotal(rs.getBigDecimal("line_total"));
+        return line;
+    }
+
+    private static List<String> statusNames(Collection<Order.OrderStatus> statuses) {
+        return statuses.stream().map(Enum::name).toList();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
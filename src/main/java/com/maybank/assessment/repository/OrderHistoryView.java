@@ -0,0 +1,24 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of an order kept in the customer order-history index.
+ */
+public interface OrderHistoryView {
+
+    Long getId();
+
+    String getCustomerEmail();
+
+    Integer getQuantity();
+
+    BigDecimal getTotalAmount();
+
+    Order.OrderStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,6 +1,7 @@
 package com.maybank.assessment.repository;
 
 import com.maybank.assessment.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,11 +10,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderArchiveRepository {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
@@ -24,6 +26,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.customerEmail = :email ORDER BY o.createdAt DESC")
     Page<Order> findByCustomerEmailOrderByCreatedAtDesc(@Param("email") String email, Pageable pageable);
 
+    List<OrderHistoryView> findHistoryByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<OrderHistoryView> findHistoryByIdIn(Collection<Long> ids);
+
+    Page<OrderHistoryView> findHistoryByCustomerEmailOrderByCreatedAtDesc(String customerEmail, Pageable pageable);
+
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate, 
                                       @Param("endDate") LocalDateTime endDate);
@@ -1,28 +1,47 @@
 package com.maybank.assessment.repository;
 
 import com.maybank.assessment.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
 
     Optional<Product> findByName(String name);
 
+    List<Product> findByNameIn(Collection<String> names);
+
     List<Product> findByCategory(String category);
 
+    // Catalog listing queries use the query cache; any write to products invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByCategory(String category, Pageable pageable);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Product> findByActiveTrue(Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.active = true AND p.stockQuantity > 0")
+    // Sharded products (stock held in product_stock_shards) are listed as available
+    @Query("SELECT p FROM Product p WHERE p.active = true AND (p.stockQuantity > 0 OR p.stockShards > 0)")
     Page<Product> findAvailableProducts(Pageable pageable);
 
+    @Query("SELECT p FROM Product p WHERE p.category = :category AND p.active = true " +
+           "AND (p.stockQuantity > 0 OR p.stockShards > 0)")
+    Page<Product> findAvailableProductsByCategory(@Param("category") String category, Pageable pageable);
+
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
@@ -0,0 +1,94 @@
+package com.maybank.assessment.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Set-based stock updates that bypass entity read-modify-write.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Decrements stock for every product in one JDBC batch. Each row is only updated when
+     * it holds enough stock, and rows are updated in ascending ID order so concurrent
+     * baskets always acquire row locks in the same order.
+     *
+     * @param quantities units to take, keyed by product ID
+     * @return the products whose stock could not be decremented (missing or insufficient),
+     *         with their requested quantity; empty when every decrement succeeded
+     */
+    Map<Long, Integer> decrementStock(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Decrements one stock shard of a sharded product, only when it holds enough stock.
+     *
+     * @return true if the shard was decremented
+     */
+    boolean decrementShard(Long productId, int shard, int quantity);
+
+    /**
+     * Locks every stock shard of the product for the rest of the transaction.
+     *
+     * @return the quantity held by each shard, in shard order; empty if the product is not sharded
+     */
+    int[] lockShards(Long productId);
+
+    /**
+     * Overwrites the quantities of the product's existing shards, in shard order.
+     */
+    void updateShards(Long productId, int[] quantities);
+
+    /**
+     * Replaces the product's shards with one shard per quantity (none when empty).
+     */
+    void replaceShards(Long productId, int[] quantities);
+
+    /**
+     * Sums the shards of each product.
+     *
+     * @return total stock keyed by product ID; products without shards are absent
+     */
+    Map<Long, Integer> sumShards(Collection<Long> productIds);
+
+    /**
+     * Reads the stock quantity of an unsharded product.
+     *
+     * @return the stock quantity; null if the product is missing or sharded
+     */
+    Integer findUnshardedStock(Long productId);
+
+    /**
+     * Overwrites the stock quantity of every product in one JDBC batch, bumping their
+     * versions so concurrent entity updates of the same products fail their version check.
+     *
+     * @param quantities new stock quantity keyed by product ID
+     */
+    void writeStock(Map<Long, Integer> quantities);
+
+    /**
+     * Returns the last stock journal sequence number flushed for the journal, or 0.
+     */
+    long findJournalCheckpoint(String journalId);
+
+    /**
+     * Records that the journal's entries up to {@code seq} have been flushed.
+     */
+    void saveJournalCheckpoint(String journalId, long seq);
+
+    /**
+     * Records that the journal transaction commits with the current transaction.
+     */
+    void insertJournalTransaction(String journalId, long transactionId);
+
+    /**
+     * Returns the journal transactions that committed and have not been flushed yet.
+     */
+    Set<Long> findJournalTransactions(String journalId);
+
+    /**
+     * Forgets journal transactions once their changes have been flushed.
+     */
+    void deleteJournalTransactions(String journalId, Collection<Long> transactionIds);
+}
@@ -0,0 +1,190 @@
+package com.maybank.assessment.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String DECREMENT_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity - ? " +
+            "WHERE product_id = ? AND shard = ? AND quantity >= ?";
+
+    // A no-op update takes the same row locks on every database, unlike SELECT ... FOR UPDATE
+    private static final String LOCK_SHARDS_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity WHERE product_id = ?";
+
+    private static final String SELECT_SHARDS_SQL =
+            "SELECT quantity FROM product_stock_shards WHERE product_id = ? ORDER BY shard";
+
+    private static final String UPDATE_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = ? WHERE product_id = ? AND shard = ?";
+
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM product_stock_shards WHERE product_id = ?";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO product_stock_shards (product_id, shard, quantity) VALUES (?, ?, ?)";
+
+    private static final String SUM_SHARDS_SQL =
+            "SELECT product_id, SUM(quantity) FROM product_stock_shards WHERE product_id IN (%s) GROUP BY product_id";
+
+    private static final String SELECT_UNSHARDED_STOCK_SQL =
+            "SELECT stock_quantity FROM products WHERE id = ? AND stock_shards = 0";
+
+    private static final String WRITE_STOCK_SQL =
+            "UPDATE products SET stock_quantity = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private static final String SELECT_CHECKPOINT_SQL =
+            "SELECT last_seq FROM stock_journal_checkpoints WHERE journal_id = ?";
+
+    private static final String UPDATE_CHECKPOINT_SQL =
+            "UPDATE stock_journal_checkpoints SET last_seq = ? WHERE journal_id = ?";
+
+    private static final String INSERT_CHECKPOINT_SQL =
+            "INSERT INTO stock_journal_checkpoints (journal_id, last_seq) VALUES (?, ?)";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO stock_journal_transactions (journal_id, transaction_id) VALUES (?, ?)";
+
+    private static final String SELECT_TRANSACTIONS_SQL =
+            "SELECT transaction_id FROM stock_journal_transactions WHERE journal_id = ?";
+
+    private static final String DELETE_TRANSACTION_SQL =
+            "DELETE FROM stock_journal_transactions WHERE journal_id = ? AND transaction_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, Integer> decrementStock(SortedMap<Long, Integer> quantities) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        List<Object[]> batch = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), now, entry.getKey(), entry.getValue()});
+        }
+        
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, batch);
+        
+        Map<Long, Integer> rejected = new LinkedHashMap<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Long productId = productIds.get(i);
+                rejected.put(productId, quantities.get(productId));
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public boolean decrementShard(Long productId, int shard, int quantity) {
+        return jdbcTemplate.update(DECREMENT_SHARD_SQL, quantity, productId, shard, quantity) > 0;
+    }
+
+    @Override
+    public int[] lockShards(Long productId) {
+        jdbcTemplate.update(LOCK_SHARDS_SQL, productId);
+        return jdbcTemplate.queryForList(SELECT_SHARDS_SQL, Integer.class, productId).stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public void updateShards(Long productId, int[] quantities) {
+        List<Object[]> batch = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            batch.add(new Object[]{quantities[shard], productId, shard});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SHARD_SQL, batch);
+    }
+
+    @Override
+    public void replaceShards(Long productId, int[] quantities) {
+        jdbcTemplate.update(DELETE_SHARDS_SQL, productId);
+        
+        List<Object[]> batch = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            batch.add(new Object[]{productId, shard, quantities[shard]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, batch);
+    }
+
+    @Override
+    public Map<Long, Integer> sumShards(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        String sql = String.format(SUM_SHARDS_SQL, String.join(", ", Collections.nCopies(productIds.size(), "?")));
+        Map<Long, Integer> totals = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            totals.put(rs.getLong(1), rs.getInt(2));
+        }, productIds.toArray());
+        return totals;
+    }
+
+    @Override
+    public Integer findUnshardedStock(Long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList(SELECT_UNSHARDED_STOCK_SQL, Integer.class, productId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    @Override
+    public void writeStock(Map<Long, Integer> quantities) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), now, entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(WRITE_STOCK_SQL, batch);
+    }
+
+    @Override
+    public long findJournalCheckpoint(String journalId) {
+        List<Long> seq = jdbcTemplate.queryForList(SELECT_CHECKPOINT_SQL, Long.class, journalId);
+        return seq.isEmpty() ? 0 : seq.get(0);
+    }
+
+    @Override
+    public void saveJournalCheckpoint(String journalId, long seq) {
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, seq, journalId) == 0) {
+            jdbcTemplate.update(INSERT_CHECKPOINT_SQL, journalId, seq);
+        }
+    }
+
+    @Override
+    public void insertJournalTransaction(String journalId, long transactionId) {
+        jdbcTemplate.update(INSERT_TRANSACTION_SQL, journalId, transactionId);
+    }
+
+    @Override
+    public Set<Long> findJournalTransactions(String journalId) {
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_TRANSACTIONS_SQL, Long.class, journalId));
+    }
+
+    @Override
+    public void deleteJournalTransactions(String journalId, Collection<Long> transactionIds) {
+        List<Object[]> batch = new ArrayList<>(transactionIds.size());
+        for (Long transactionId : transactionIds) {
+            batch.add(new Object[]{journalId, transactionId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_TRANSACTION_SQL, batch);
+    }
+}
@@ -0,0 +1,133 @@
+package com.maybank.assessment.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.dto.ExternalApiResponse;
+import com.maybank.assessment.tracing.Span;
+import com.maybank.assessment.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking counterpart of {@link ExternalApiService}. Calls are issued through the
+ * JDK {@link HttpClient} and complete asynchronously, so no servlet thread is held
+ * for the upstream round trip.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncExternalApiService {
+
+    private static final TypeReference<List<ExternalApiResponse>> POST_LIST_TYPE = new TypeReference<>() {};
+
+    private final HttpClient externalHttpClient;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    private final ExternalApiCircuitBreaker circuitBreaker;
+
+    @Value("${external.api.url}")
+    private String externalApiUrl;
+
+    @Value("${external.api.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    public CompletableFuture<List<ExternalApiResponse>> fetchPosts() {
+        log.debug("Calling external API asynchronously to fetch posts");
+        
+        return send(externalApiUrl + "/posts")
+                .thenApply(body -> {
+                    List<ExternalApiResponse> posts = read(body, POST_LIST_TYPE);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Successfully fetched {} posts from external API", posts.size());
+                    }
+                    return posts;
+                })
+                .exceptionally(ex -> {
+                    throw failure("Failed to fetch data from external API", ex);
+                });
+    }
+
+    public CompletableFuture<ExternalApiResponse> fetchPostById(Long id) {
+        log.debug("Calling external API asynchronously to fetch post with ID: {}", id);
+        
+        return send(externalApiUrl + "/posts/" + id)
+                .thenApply(body -> {
+                    ExternalApiResponse post = read(body, new TypeReference<ExternalApiResponse>() {});
+                    log.debug("Successfully fetched post from external API");
+                    return post;
+                })
+                .exceptionally(ex -> {
+                    throw failure("Failed to fetch post from external API", ex);
+                });
+    }
+
+    private CompletableFuture<byte[]> send(String url) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("circuit breaker is open"));
+        }
+        
+        URI uri = URI.create(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header("Accept", "application/json")
+                .GET();
+        
+        // The span is ended from the HTTP client's thread once the response arrives
+        Span span = tracer.startSpan("GET " + uri.getHost() + uri.getPath(), "client");
+        if (span != null) {
+            builder.header(Tracer.TRACEPARENT_HEADER, span.traceparent());
+        }
+        
+        CompletableFuture<byte[]> result = externalHttpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, ex) -> {
+                    // A 4xx answer still shows the external API is up
+                    if (ex != null || response.statusCode() >= 500) {
+                        circuitBreaker.recordFailure();
+                    } else {
+                        circuitBreaker.recordSuccess();
+                    }
+                })
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("External API responded with status " + response.statusCode());
+                    }
+                    return response.body();
+                });
+        if (span != null) {
+            result = result.whenComplete((body, ex) -> {
+                if (ex != null) {
+                    span.fail(ex);
+                }
+                span.end();
+            });
+        }
+        return result;
+    }
+
+    private <T> T read(byte[] body, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompletionException failure(String message, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        log.error("Error calling external API: ", cause);
+        return new CompletionException(new RuntimeException(message + ": " + cause.getMessage()));
+    }
+}
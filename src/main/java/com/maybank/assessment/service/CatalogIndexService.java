@@ -0,0 +1,476 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.datasource.WorkloadRoutingDataSource;
+import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import com.maybank.assessment.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Memory-resident catalog for browse queries. Product attributes are stored column-wise
+ * in primitive arrays indexed directly by product ID; category membership, active and
+ * availability ({@code active && stockQuantity > 0}) are bitsets over the same IDs, so
+ * filters are bitset intersections and ID order comes for free. Name and price orders
+ * are kept as sorted ID arrays, rebuilt lazily after a change that affects them.
+ *
+ * <p>The index is loaded from the database once the application is ready and kept in
+ * sync by reloading the products named in each {@link ProductsChangedEvent} after commit.
+ * Reloads run one at a time on a background thread, and products changed while one runs
+ * are coalesced into the next, so committing threads never wait on the index. Until
+ * loading finishes, {@link #isReady()} is false and callers should use SQL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogIndexService {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MAX_INDEXED_ID = 1 << 28;
+    private static final int PRICE_SCALE = 2;
+    private static final BitSet EMPTY = new BitSet();
+
+    private final ProductRepository productRepository;
+    private final StockShardService stockShardService;
+
+    @Value("${catalog.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private boolean loading;
+    private boolean refreshScheduled;
+    private final Set<Long> pendingRefresh = new HashSet<>();
+
+    // Refreshes read the changed products on a virtual thread, on the read pool
+    private final Executor refreshExecutor =
+            WorkloadRoutingDataSource.bound(WorkloadClass.READ, Executors.newVirtualThreadPerTaskExecutor());
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private String[] categories = new String[INITIAL_CAPACITY];
+    private long[] unscaledPrices = new long[INITIAL_CAPACITY];
+    private int[] stockQuantities = new int[INITIAL_CAPACITY];
+    private long[] createdAtMicros = new long[INITIAL_CAPACITY];
+    private long[] updatedAtMicros = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    private final BitSet present = new BitSet();
+    private final BitSet active = new BitSet();
+    private final BitSet available = new BitSet();
+    private final Map<String, BitSet> byCategory = new HashMap<>();
+
+    private int[] idsByName = new int[0];
+    private int[] idsByPrice = new int[0];
+    private boolean sortOrdersStale;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        
+        log.info("Loading catalog index");
+        long start = System.currentTimeMillis();
+        setLoading(true);
+        
+        try {
+            long lastId = 0;
+            List<Product> batch;
+            do {
+                batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+                apply(batch, List.of());
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            
+            // Catch up on products changed while loading, then start serving
+            Set<Long> pending;
+            while ((pending = drainOrFinishLoading()) != null) {
+                reload(pending);
+            }
+        } catch (IndexOverflowException e) {
+            log.warn("Catalog index disabled: {}", e.getMessage());
+        } finally {
+            setLoading(false);
+        }
+        
+        log.info("Catalog index loaded with {} products in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!enabled || event.getProductIds().isEmpty()) {
+            return;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            pendingRefresh.addAll(event.getProductIds());
+            if (loading || refreshScheduled) {
+                return;
+            }
+            refreshScheduled = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        refreshExecutor.execute(this::refreshPending);
+    }
+
+    private void refreshPending() {
+        Set<Long> pending;
+        while ((pending = drainPendingRefresh()) != null) {
+            try {
+                reload(pending);
+            } catch (IndexOverflowException e) {
+                ready = false;
+                log.warn("Catalog index disabled: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                // Keep the products pending so the next change retries them
+                log.warn("Catalog index refresh of {} products failed: {}", pending.size(), e.getMessage());
+                requeue(pending);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return present.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of products, optionally restricted to a category and to available
+     * products. Supported sort properties are {@code id}, {@code name} and {@code price};
+     * only the first sort order is applied, with product ID as the tie-breaker.
+     */
+    public Page<ProductResponse> browse(String category, boolean availableOnly, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        
+        while (true) {
+            if (!order.getProperty().equals("id")) {
+                refreshSortOrders();
+            }
+            
+            lock.readLock().lock();
+            try {
+                if (sortOrdersStale && !order.getProperty().equals("id")) {
+                    continue;
+                }
+                
+                BitSet filter = category != null ? byCategory.getOrDefault(category, EMPTY) : present;
+                if (availableOnly) {
+                    filter = (BitSet) filter.clone();
+                    filter.and(available);
+                }
+                
+                List<ProductResponse> content = switch (order.getProperty()) {
+                    case "id" -> pageInIdOrder(filter, order.isAscending(), pageable);
+                    case "name" -> pageInOrder(idsByName, filter, order.isAscending(), pageable);
+                    case "price" -> pageInOrder(idsByPrice, filter, order.isAscending(), pageable);
+                    default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+                };
+                return new PageImpl<>(content, pageable, filter.cardinality());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private List<ProductResponse> pageInIdOrder(BitSet filter, boolean ascending, Pageable pageable) {
+        List<ProductResponse> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        
+        int id = ascending ? filter.nextSetBit(0) : filter.previousSetBit(filter.length() - 1);
+        while (id >= 0 && content.size() < pageable.getPageSize()) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(toResponse(id));
+            }
+            id = ascending ? filter.nextSetBit(id + 1) : filter.previousSetBit(id - 1);
+        }
+        return content;
+    }
+
+    private List<ProductResponse> pageInOrder(int[] sortedIds, BitSet filter, boolean ascending, Pageable pageable) {
+        List<ProductResponse> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        
+        for (int i = 0; i < sortedIds.length && content.size() < pageable.getPageSize(); i++) {
+            int id = sortedIds[ascending ? i : sortedIds.length - 1 - i];
+            if (!filter.get(id)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(toResponse(id));
+            }
+        }
+        return content;
+    }
+
+    private void reload(Iterable<Long> productIds) {
+        List<Long> ids = new ArrayList<>();
+        productIds.forEach(ids::add);
+        List<Product> products = productRepository.findAllById(ids);
+        
+        Set<Long> found = new HashSet<>();
+        products.forEach(product -> found.add(product.getId()));
+        List<Long> removed = ids.stream().filter(id -> !found.contains(id)).toList();
+        
+        apply(products, removed);
+    }
+
+    private void apply(List<Product> products, List<Long> removedIds) {
+        Map<Long, Integer> availableStock = stockShardService.availableStock(products);
+        
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                put(product, availableStock.get(product.getId()));
+            }
+            for (Long id : removedIds) {
+                if (id < MAX_INDEXED_ID) {
+                    remove(id.intValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Product product, int stockQuantity) {
+        if (product.getId() >= MAX_INDEXED_ID) {
+            throw new IndexOverflowException("product ID " + product.getId() + " exceeds " + MAX_INDEXED_ID);
+        }
+        int id = product.getId().intValue();
+        ensureCapacity(id);
+        
+        // A reload that read an older row than the one indexed must not overwrite it
+        long version = product.getVersion() != null ? product.getVersion() : 0;
+        if (present.get(id) && version < versions[id]) {
+            return;
+        }
+        
+        long unscaledPrice = product.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        if (!present.get(id) || !Objects.equals(names[id], product.getName()) || unscaledPrices[id] != unscaledPrice) {
+            sortOrdersStale = true;
+        }
+        
+        String oldCategory = present.get(id) ? categories[id] : null;
+        if (oldCategory != null && !oldCategory.equals(product.getCategory())) {
+            removeFromCategory(oldCategory, id);
+        }
+        if (product.getCategory() != null) {
+            byCategory.computeIfAbsent(product.getCategory(), key -> new BitSet()).set(id);
+        }
+        
+        names[id] = product.getName();
+        descriptions[id] = product.getDescription();
+        categories[id] = product.getCategory();
+        unscaledPrices[id] = unscaledPrice;
+        stockQuantities[id] = stockQuantity;
+        createdAtMicros[id] = toMicros(product.getCreatedAt());
+        updatedAtMicros[id] = toMicros(product.getUpdatedAt());
+        versions[id] = version;
+        
+        boolean isActive = Boolean.TRUE.equals(product.getActive());
+        present.set(id);
+        active.set(id, isActive);
+        available.set(id, isActive && stockQuantity > 0);
+    }
+
+    private void remove(int id) {
+        if (id >= names.length || !present.get(id)) {
+            return;
+        }
+        if (categories[id] != null) {
+            removeFromCategory(categories[id], id);
+        }
+        names[id] = null;
+        descriptions[id] = null;
+        categories[id] = null;
+        present.clear(id);
+        active.clear(id);
+        available.clear(id);
+        sortOrdersStale = true;
+    }
+
+    private void removeFromCategory(String category, int id) {
+        BitSet members = byCategory.get(category);
+        if (members != null) {
+            members.clear(id);
+            if (members.isEmpty()) {
+                byCategory.remove(category);
+            }
+        }
+    }
+
+    private void refreshSortOrders() {
+        lock.writeLock().lock();
+        try {
+            if (!sortOrdersStale) {
+                return;
+            }
+            Integer[] ids = present.stream().boxed().toArray(Integer[]::new);
+            
+            Arrays.sort(ids, Comparator.<Integer, String>comparing(id -> names[id]).thenComparing(id -> id));
+            idsByName = Arrays.stream(ids).mapToInt(Integer::intValue).toArray();
+            
+            Arrays.sort(ids, Comparator.<Integer>comparingLong(id -> unscaledPrices[id]).thenComparing(id -> id));
+            idsByPrice = Arrays.stream(ids).mapToInt(Integer::intValue).toArray();
+            
+            sortOrdersStale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < names.length) {
+            return;
+        }
+        int capacity = Math.max(names.length * 2, id + 1);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        unscaledPrices = Arrays.copyOf(unscaledPrices, capacity);
+        stockQuantities = Arrays.copyOf(stockQuantities, capacity);
+        createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+        updatedAtMicros = Arrays.copyOf(updatedAtMicros, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private ProductResponse toResponse(int id) {
+        ProductResponse response = new ProductResponse();
+        response.setId((long) id);
+        response.setName(names[id]);
+        response.setDescription(descriptions[id]);
+        response.setPrice(BigDecimal.valueOf(unscaledPrices[id], PRICE_SCALE));
+        response.setStockQuantity(stockQuantities[id]);
+        response.setCategory(categories[id]);
+        response.setActive(active.get(id));
+        response.setCreatedAt(fromMicros(createdAtMicros[id]));
+        response.setUpdatedAt(fromMicros(updatedAtMicros[id]));
+        response.setVersion(versions[id]);
+        return response;
+    }
+
+    private void setLoading(boolean value) {
+        lock.writeLock().lock();
+        try {
+            loading = value;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products changed since the last call, or marks the index ready and
+     * returns null when there are none left to catch up on.
+     */
+    private Set<Long> drainOrFinishLoading() {
+        lock.writeLock().lock();
+        try {
+            if (pendingRefresh.isEmpty()) {
+                loading = false;
+                ready = true;
+                return null;
+            }
+            return drain();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products changed since the last refresh, or ends the refresh and returns
+     * null when there are none.
+     */
+    private Set<Long> drainPendingRefresh() {
+        lock.writeLock().lock();
+        try {
+            if (pendingRefresh.isEmpty()) {
+                refreshScheduled = false;
+                return null;
+            }
+            return drain();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void requeue(Set<Long> productIds) {
+        lock.writeLock().lock();
+        try {
+            pendingRefresh.addAll(productIds);
+            refreshScheduled = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<Long> drain() {
+        Set<Long> pending = new HashSet<>(pendingRefresh);
+        pendingRefresh.clear();
+        return pending;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static class IndexOverflowException extends RuntimeException {
+        IndexOverflowException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.datasource.Workload;
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.datasource.WorkloadRoutingDataSource;
+import com.maybank.assessment.dto.ChangeFeedResponse;
+import com.maybank.assessment.dto.ChangeResponse;
+import com.maybank.assessment.entity.ChangeLogEntry;
+import com.maybank.assessment.event.OrdersChangedEvent;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import com.maybank.assessment.repository.ChangeLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change feed of product and order writes. Every {@link ProductsChangedEvent} and
+ * {@link OrdersChangedEvent} is appended to the change log just before its transaction
+ * commits, so a change and its log entry commit or roll back together.
+ * <p>
+ * A consumer reads everything above its last sequence number, so it must not read past
+ * a number whose transaction has yet to commit. Numbers come from {@code change_log_seq},
+ * one sequence value per {@value #SEQ_BLOCK_SIZE} entries, taken after the transaction's
+ * own writes are flushed, so they are handed out shortly before the commit. Taking a
+ * value holds no lock, so writers never wait on one another, but a transaction can
+ * still be committing when a higher number is already readable. Reads therefore stop at
+ * the first entry written less than {@code read-lag-ms} ago, so every lower number has
+ * had that long to commit before a consumer moves past it. The lag must cover the time
+ * from the append to the commit plus the clock skew between nodes. Rolled-back
+ * transactions and unused numbers of a sequence value leave gaps.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private static final String APPENDED_KEY = ChangeFeedService.class.getName() + ".appended";
+
+    // change_log_seq increments by this much (V5), so each value reserves as many numbers
+    private static final int SEQ_BLOCK_SIZE = 50;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${change-feed.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${change-feed.max-wait-seconds:25}")
+    private long maxWaitSeconds;
+
+    @Value("${change-feed.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${change-feed.read-lag-ms:1000}")
+    private long readLagMs;
+
+    // Long polls wait off the request thread and re-read on a virtual thread, on the read pool
+    private final Executor pollExecutor =
+            WorkloadRoutingDataSource.bound(WorkloadClass.READ, Executors.newVirtualThreadPerTaskExecutor());
+
+    // Guarded by this: completed by the next local transaction that appends to the log
+    private CompletableFuture<Void> nextCompletion = new CompletableFuture<>();
+
+    private final AtomicLong prunedThrough = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        Long min = changeLogRepository.findMinSeq();
+        prunedThrough.set(min != null ? min - 1 : 0);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        append(ChangeLogEntry.EntityType.PRODUCT, event.getProductIds(), event.getChangeType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        append(ChangeLogEntry.EntityType.ORDER, event.getOrderIds(), event.getChangeType());
+    }
+
+    /**
+     * Returns the changes after {@code since}, oldest first. When there are none and
+     * {@code waitSeconds} is positive, waits for writes to commit and reads again until
+     * something arrives or the wait runs out (then the page is empty).
+     */
+    @Workload(WorkloadClass.READ)
+    public CompletableFuture<ChangeFeedResponse> getChanges(long since, int limit, long waitSeconds) {
+        int size = Math.min(limit, maxPageSize);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.min(waitSeconds, maxWaitSeconds));
+        return poll(since, size, deadline);
+    }
+
+    @Scheduled(fixedDelayString = "${change-feed.cleanup-interval-ms:3600000}")
+    public void pruneExpired() {
+        Long upTo = changeLogRepository.findMaxSeqChangedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (upTo == null) {
+            return;
+        }
+        // Raised before deleting, so readers behind the cutoff are told to resync
+        prunedThrough.accumulateAndGet(upTo, Math::max);
+        int deleted = changeLogRepository.deleteUpTo(upTo);
+        if (deleted > 0) {
+            log.info("Pruned {} change log entries up to sequence {}", deleted, upTo);
+        }
+    }
+
+    private CompletableFuture<ChangeFeedResponse> poll(long since, int size, long deadline) {
+        // Taken before reading, so a commit between the read and the wait is not missed
+        CompletableFuture<Void> completion;
+        synchronized (this) {
+            completion = nextCompletion;
+        }
+        Page page = read(since, size);
+        ChangeFeedResponse response = page.response();
+        long remaining = deadline - System.nanoTime();
+        if (!response.getChanges().isEmpty() || response.isResyncRequired() || remaining <= 0) {
+            return CompletableFuture.completedFuture(response);
+        }
+        // Read again after the next local commit, or once the first held-back change is readable
+        long wait = page.heldBackNanos() > 0 ? Math.min(remaining, page.heldBackNanos()) : remaining;
+        return completion.copy()
+                .completeOnTimeout(null, wait, TimeUnit.NANOSECONDS)
+                .thenComposeAsync(ignored -> poll(since, size, deadline), pollExecutor);
+    }
+
+    /**
+     * A page of changes, and how long until the first change held back by the read lag
+     * becomes readable (0 if none was held back).
+     */
+    private record Page(ChangeFeedResponse response, long heldBackNanos) {
+    }
+
+    private Page read(long since, int size) {
+        List<ChangeLogEntry> entries = changeLogRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(size));
+        
+        // Everything from the first entry younger than the read lag on is held back
+        LocalDateTime cutoff = LocalDateTime.now().minus(readLagMs, ChronoUnit.MILLIS);
+        int readable = 0;
+        while (readable < entries.size() && !entries.get(readable).getChangedAt().isAfter(cutoff)) {
+            readable++;
+        }
+        long heldBackNanos = readable < entries.size()
+                ? Duration.between(cutoff, entries.get(readable).getChangedAt()).toNanos()
+                : 0;
+        
+        List<ChangeResponse> changes = entries.subList(0, readable).stream()
+                .map(entry -> new ChangeResponse(entry.getSeq(), entry.getEntityType(), entry.getEntityId(),
+                        entry.getChangeType(), entry.getChangedAt()))
+                .toList();
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new Page(new ChangeFeedResponse(changes, nextSince, readable == size, since < prunedThrough.get()),
+                heldBackNanos);
+    }
+
+    private void append(ChangeLogEntry.EntityType entityType, List<Long> entityIds, ChangeLogEntry.ChangeType changeType) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(entityType, entityIds, changeType));
+            } finally {
+                signalCompletion();
+            }
+            return;
+        }
+        
+        // Long polls are woken once per transaction, after it has committed or rolled back
+        if (!TransactionSynchronizationManager.hasResource(APPENDED_KEY)) {
+            TransactionSynchronizationManager.bindResource(APPENDED_KEY, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(APPENDED_KEY);
+                    signalCompletion();
+                }
+            });
+        }
+        insert(entityType, entityIds, changeType);
+    }
+
+    private void insert(ChangeLogEntry.EntityType entityType, List<Long> entityIds, ChangeLogEntry.ChangeType changeType) {
+        // Numbers are taken after the transaction's own writes, as close to the commit as possible
+        changeLogRepository.flush();
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeLogEntry> entries = new ArrayList<>(entityIds.size());
+        long seq = 0;
+        for (int i = 0; i < entityIds.size(); i++) {
+            seq = i % SEQ_BLOCK_SIZE == 0 ? changeLogRepository.nextSeq() : seq + 1;
+            entries.add(new ChangeLogEntry(seq, entityType, entityIds.get(i), changeType, now));
+        }
+        changeLogRepository.saveAll(entries);
+    }
+
+    private void signalCompletion() {
+        CompletableFuture<Void> completed;
+        synchronized (this) {
+            completed = nextCompletion;
+            nextCompletion = new CompletableFuture<>();
+        }
+        completed.complete(null);
+    }
+}
@@ -0,0 +1,294 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.OrderSummaryResponse;
+import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.event.OrdersChangedEvent;
+import com.maybank.assessment.repository.OrderHistoryView;
+import com.maybank.assessment.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Off-heap index of every customer's order history, for customer order lookups. Orders
+ * are keyed by a SHA-256 hash of the lower-cased customer email and held as packed
+ * records in an {@link OrderHistoryStore}, newest (highest order ID) first, so a history
+ * page and its total count are read without a database query.
+ *
+ * <p>The index is rebuilt from the orders table once the application is ready and kept
+ * in sync by reloading the orders named in each {@link OrdersChangedEvent} after commit.
+ * Until loading finishes, or if the index outgrows {@code order.history.max-memory-mb},
+ * {@link #isReady()} is false and callers should use SQL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerOrderHistoryService {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int CHUNK_BYTES = 4 * 1024 * 1024;
+    private static final int AMOUNT_SCALE = 2;
+    private static final int RELOAD_STRIPES = 64;
+    private static final Order.OrderStatus[] STATUSES = Order.OrderStatus.values();
+
+    private final OrderRepository orderRepository;
+
+    @Value("${order.history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.history.max-memory-mb:256}")
+    private long maxMemoryMb;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private boolean loading;
+    private final Map<String, Set<Long>> changedWhileLoading = new HashMap<>();
+    private OrderHistoryStore store;
+    private final Object[] reloadStripes = newStripes();
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        log.info("Loading customer order history index");
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            store = new OrderHistoryStore(CHUNK_BYTES, maxMemoryMb * 1024 * 1024);
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long lastId = 0;
+            List<OrderHistoryView> batch;
+            do {
+                batch = orderRepository.findHistoryByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+                apply(batch, List.of(), null);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            // Catch up on orders changed while loading, then start serving
+            Map<String, Set<Long>> pending;
+            while ((pending = drainOrFinishLoading()) != null) {
+                pending.forEach(this::reload);
+            }
+        } catch (OrderHistoryStore.StoreFullException e) {
+            disable(e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            log.info("Customer order history index loaded with {} orders for {} customers ({} KB off-heap) in {} ms",
+                    store.orders(), store.customers(), store.allocatedBytes() / 1024,
+                    System.currentTimeMillis() - start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        if (!enabled || event.getOrderIds().isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                changedWhileLoading.computeIfAbsent(event.getCustomerEmail(), key -> new HashSet<>())
+                        .addAll(event.getOrderIds());
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (ready) {
+            try {
+                reload(event.getCustomerEmail(), event.getOrderIds());
+            } catch (OrderHistoryStore.StoreFullException e) {
+                disable(e);
+            }
+        }
+    }
+
+    /**
+     * Returns one page of the customer's orders, newest first. The page total comes from
+     * the index, so no count query is needed.
+     */
+    public Page<OrderSummaryResponse> history(String customerEmail, Pageable pageable) {
+        long key = customerKey(customerEmail);
+        List<OrderSummaryResponse> content = new ArrayList<>(pageable.getPageSize());
+
+        lock.readLock().lock();
+        try {
+            store.forEachNewestFirst(key, pageable.getOffset(), pageable.getPageSize(),
+                    (orderId, createdAtMicros, amountCents, quantity, status) -> content.add(new OrderSummaryResponse(
+                            orderId, quantity, BigDecimal.valueOf(amountCents, AMOUNT_SCALE), STATUSES[status],
+                            fromMicros(createdAtMicros))));
+            return new PageImpl<>(content, pageable, store.count(key));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of one page of the customer's orders, newest first, with the total
+     * number of orders the customer has.
+     */
+    public Page<Long> orderIds(String customerEmail, Pageable pageable) {
+        long key = customerKey(customerEmail);
+        List<Long> content = new ArrayList<>(pageable.getPageSize());
+
+        lock.readLock().lock();
+        try {
+            store.forEachNewestFirst(key, pageable.getOffset(), pageable.getPageSize(),
+                    (orderId, createdAtMicros, amountCents, quantity, status) -> content.add(orderId));
+            return new PageImpl<>(content, pageable, store.count(key));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads and applies the current state of the orders. Reloads for the same customer
+     * are serialized, so a reload that read an older state cannot be applied after one
+     * that read a newer state.
+     */
+    private void reload(String customerEmail, Iterable<Long> orderIds) {
+        List<Long> ids = new ArrayList<>();
+        orderIds.forEach(ids::add);
+
+        synchronized (reloadStripes[Math.floorMod(customerKey(customerEmail), RELOAD_STRIPES)]) {
+            List<OrderHistoryView> orders = orderRepository.findHistoryByIdIn(ids);
+
+            Set<Long> found = new HashSet<>();
+            orders.forEach(order -> found.add(order.getId()));
+            List<Long> removed = ids.stream().filter(id -> !found.contains(id)).toList();
+
+            apply(orders, removed, customerEmail);
+        }
+    }
+
+    private void apply(List<OrderHistoryView> orders, List<Long> removedIds, String customerEmail) {
+        lock.writeLock().lock();
+        try {
+            for (OrderHistoryView order : orders) {
+                store.put(customerKey(order.getCustomerEmail()), order.getId(), toMicros(order.getCreatedAt()),
+                        order.getTotalAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(),
+                        order.getQuantity(), order.getStatus().ordinal());
+            }
+            if (!removedIds.isEmpty()) {
+                long key = customerKey(customerEmail);
+                removedIds.forEach(id -> store.remove(key, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void disable(OrderHistoryStore.StoreFullException e) {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            // Drop the direct buffers; they are freed once collected
+            store = new OrderHistoryStore(CHUNK_BYTES, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.warn("Customer order history index disabled: {}", e.getMessage());
+    }
+
+    /**
+     * Returns the orders changed since the last call, or marks the index ready and
+     * returns null when there are none left to catch up on.
+     */
+    private Map<String, Set<Long>> drainOrFinishLoading() {
+        lock.writeLock().lock();
+        try {
+            if (changedWhileLoading.isEmpty()) {
+                loading = false;
+                ready = true;
+                return null;
+            }
+            Map<String, Set<Long>> pending = new HashMap<>(changedWhileLoading);
+            changedWhileLoading.clear();
+            return pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Object[] newStripes() {
+        Object[] stripes = new Object[RELOAD_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        return stripes;
+    }
+
+    /**
+     * The first 8 bytes of the SHA-256 of the lower-cased email. Lower-casing matches the
+     * case-insensitive collation the orders table uses on SQL Server.
+     */
+    private static long customerKey(String customerEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(customerEmail.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,85 @@
+package com.maybank.assessment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consecutive-failure circuit breaker shared by {@link ExternalApiService} and
+ * {@link AsyncExternalApiService}. After {@code failure-threshold} failed calls in a row
+ * the breaker opens and calls fail fast for {@code open-duration-ms}; then a single
+ * trial call is let through, which closes the breaker on success or re-opens it on
+ * failure.
+ */
+@Slf4j
+@Service
+public class ExternalApiCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${external.api.breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${external.api.breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Returns true if a call may be made now; the caller must then report its outcome
+     * with {@link #recordSuccess()}, {@link #recordFailure()} or {@link #recordIgnored()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("External API circuit breaker closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Reports a call that ended for reasons unrelated to the external API, such as the
+     * client going away; only frees a half-open trial for the next call.
+     */
+    public synchronized void recordIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("External API circuit breaker opened after {} consecutive failures", consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -1,15 +1,25 @@
 package com.maybank.assessment.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.maybank.assessment.dto.ExternalApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 @Slf4j
@@ -18,12 +28,15 @@ import java.util.List;
 public class ExternalApiService {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExternalApiCircuitBreaker circuitBreaker;
 
     @Value("${external.api.url}")
     private String externalApiUrl;
 
     public List<ExternalApiResponse> fetchPosts() {
-        log.info("Calling external API to fetch posts");
+        log.debug("Calling external API to fetch posts");
+        checkCircuit();
         
         try {
             String url = externalApiUrl + "/posts";
@@ -34,28 +47,172 @@ public class ExternalApiService {
                     new ParameterizedTypeReference<List<ExternalApiResponse>>() {}
             );
             
-            log.info("Successfully fetched {} posts from external API", 
-                    response.getBody() != null ? response.getBody().size() : 0);
+            circuitBreaker.recordSuccess();
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully fetched {} posts from external API", 
+                        response.getBody() != null ? response.getBody().size() : 0);
+            }
             
             return response.getBody();
         } catch (Exception e) {
+            recordFailure(e);
             log.error("Error calling external API: ", e);
             throw new RuntimeException("Failed to fetch data from external API: " + e.getMessage());
         }
     }
 
     public ExternalApiResponse fetchPostById(Long id) {
-        log.info("Calling external API to fetch post with ID: {}", id);
+        log.debug("Calling external API to fetch post with ID: {}", id);
+        checkCircuit();
         
         try {
             String url = externalApiUrl + "/posts/" + id;
             ResponseEntity<ExternalApiResponse> response = restTemplate.getForEntity(url, ExternalApiResponse.class);
             
-            log.info("Successfully fetched post from external API");
+            circuitBreaker.recordSuccess();
+            log.debug("Successfully fetched post from external API");
             return response.getBody();
         } catch (Exception e) {
+            recordFailure(e);
             log.error("Error calling external API: ", e);
             throw new RuntimeException("Failed to fetch post from external API: " + e.getMessage());
         }
     }
+
+    /**
+     * Streams posts from the external API straight to {@code out}, parsing the upstream
+     * array one element at a time so memory use does not grow with the payload size.
+     *
+     * @param userId only posts by this user are written, or all posts when null
+     * @param limit stop after this many posts have been written, or no limit when null
+     * @param out the stream the envelope is written to
+     * @param writer the mapper whose format (JSON, CBOR or Smile) the envelope is written in
+     * @return the number of posts written
+     * @throws IOException if writing to {@code out} failed, typically because the client
+     *                     went away; this does not count against the external API
+     */
+    public int streamPosts(Long userId, Integer limit, OutputStream out, ObjectMapper writer) throws IOException {
+        log.debug("Streaming posts from external API (userId={}, limit={})", userId, limit);
+        checkCircuit();
+        
+        ClientOutputStream client = new ClientOutputStream(out);
+        try {
+            String url = externalApiUrl + "/posts";
+            Integer written = restTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> copyPosts(response.getBody(), client, writer, userId, limit)
+            );
+            
+            circuitBreaker.recordSuccess();
+            log.debug("Successfully streamed {} posts from external API", written);
+            return written != null ? written : 0;
+        } catch (Exception e) {
+            // RestTemplate wraps it, but a failed write to the client is not an upstream failure
+            if (client.failure != null) {
+                circuitBreaker.recordIgnored();
+                log.debug("Client went away while streaming posts: {}", client.failure.getMessage());
+                throw client.failure;
+            }
+            recordFailure(e);
+            log.error("Error calling external API: ", e);
+            throw new RuntimeException("Failed to stream data from external API: " + e.getMessage());
+        }
+    }
+
+    private void checkCircuit() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new RuntimeException("External API unavailable: circuit breaker is open");
+        }
+    }
+
+    private void recordFailure(Exception e) {
+        // A 4xx answer still shows the external API is up
+        if (e instanceof HttpClientErrorException) {
+            circuitBreaker.recordSuccess();
+        } else {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    /**
+     * Remembers the first write error, so it can be told apart from errors reading the
+     * upstream response.
+     */
+    private static class ClientOutputStream extends FilterOutputStream {
+
+        private IOException failure;
+
+        ClientOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                throw remember(e);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                throw remember(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw remember(e);
+            }
+        }
+
+        private IOException remember(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            return e;
+        }
+    }
+
+    private int copyPosts(InputStream in, OutputStream out, ObjectMapper writer, Long userId, Integer limit)
+            throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+            
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // On an upstream failure the envelope must stay unterminated, so the client
+            // cannot mistake the posts written so far for the whole list
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array from external API");
+            }
+            
+            generator.writeStartObject();
+            generator.writeStringField("source", "JSONPlaceholder API");
+            generator.writeArrayFieldStart("posts");
+            
+            int count = 0;
+            while ((limit == null || count < limit) && parser.nextToken() == JsonToken.START_OBJECT) {
+                ExternalApiResponse post = parser.readValueAs(ExternalApiResponse.class);
+                if (userId == null || userId.equals(post.getUserId())) {
+                    generator.writeObject(post);
+                    count++;
+                }
+            }
+            
+            generator.writeEndArray();
+            generator.writeNumberField("totalPosts", count);
+            generator.writeEndObject();
+            return count;
+        }
+    }
 }
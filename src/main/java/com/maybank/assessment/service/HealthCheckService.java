@@ -0,0 +1,172 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.dto.ProbeResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Liveness and readiness probes. Liveness only reflects whether the application is in a
+ * correct state, so a node is never restarted because a dependency is slow. Readiness
+ * also fails while the node is saturated, so the load balancer stops sending it traffic
+ * before its latency collapses:
+ * <ul>
+ *   <li>{@code connectionPool.transactional}, {@code connectionPool.read} - threads
+ *       waiting for a connection from that pool</li>
+ *   <li>{@code requestQueue} - requests queued for a Tomcat worker thread</li>
+ *   <li>{@code gcPressure} - share of wall time spent in GC over the last
+ *       {@code gc-window-seconds}</li>
+ * </ul>
+ * Threads waiting on the batch pool are reported as {@code connectionPool.batch} but do
+ * not fail readiness, since exports and imports are meant to queue there. The external
+ * API circuit breaker is reported as {@code externalApi} but does not fail
+ * readiness: the outage would be the same on every node, and taking them all out of
+ * rotation would turn a degraded integration into a full outage.
+ *
+ * <p>Every check reads a counter that is already maintained (the GC share is sampled once
+ * a second), so the probes are cheap enough to poll every second.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HealthCheckService {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+    public static final String DEGRADED = "DEGRADED";
+    public static final String OUT_OF_SERVICE = "OUT_OF_SERVICE";
+
+    private final ApplicationAvailability applicationAvailability;
+    private final LoadSheddingService loadSheddingService;
+    private final ExternalApiCircuitBreaker circuitBreaker;
+
+    @Value("${health.readiness.max-pending-connections:10}")
+    private int maxPendingConnections;
+
+    @Value("${health.readiness.max-queued-requests:50}")
+    private int maxQueuedRequests;
+
+    @Value("${health.readiness.max-gc-time-percent:20}")
+    private double maxGcTimePercent;
+
+    @Value("${health.readiness.gc-window-seconds:10}")
+    private int gcWindowSeconds;
+
+    // ZGC and Shenandoah also report their concurrent cycles, which do not pause the application
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .filter(collector -> !collector.getName().endsWith("Cycles"))
+            .toList();
+
+    private volatile ThreadPoolExecutor requestExecutor;
+    private volatile double gcTimePercent;
+    private volatile boolean lastReady = true;
+
+    private long[] sampleTimes;
+    private long[] sampleGcTimes;
+    private int samples;
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getWebServer() instanceof TomcatWebServer tomcat
+                && tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor() instanceof ThreadPoolExecutor executor) {
+            requestExecutor = executor;
+        }
+    }
+
+    public ProbeResponse liveness() {
+        LivenessState state = applicationAvailability.getLivenessState();
+
+        Map<String, ProbeResponse.Check> checks = new LinkedHashMap<>();
+        checks.put("availability", new ProbeResponse.Check(state == LivenessState.CORRECT ? UP : DOWN, state.name(), null));
+        return new ProbeResponse(state == LivenessState.CORRECT ? UP : DOWN, LocalDateTime.now(), checks);
+    }
+
+    public ProbeResponse readiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        ExternalApiCircuitBreaker.State breaker = circuitBreaker.getState();
+        double gcPercent = Math.round(gcTimePercent * 10) / 10.0;
+
+        Map<String, ProbeResponse.Check> checks = new LinkedHashMap<>();
+        checks.put("availability", new ProbeResponse.Check(
+                state == ReadinessState.ACCEPTING_TRAFFIC ? UP : DOWN, state.name(), null));
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            ProbeResponse.Check check = limitCheck(loadSheddingService.pendingThreads(workloadClass), maxPendingConnections);
+            if (workloadClass == WorkloadClass.BATCH && DOWN.equals(check.getStatus())) {
+                check.setStatus(DEGRADED);
+            }
+            checks.put("connectionPool." + workloadClass.getPoolName(), check);
+        }
+        checks.put("requestQueue", limitCheck(queuedRequests(), maxQueuedRequests));
+        checks.put("gcPressure", limitCheck(gcPercent, maxGcTimePercent));
+        checks.put("externalApi", new ProbeResponse.Check(
+                breaker == ExternalApiCircuitBreaker.State.CLOSED ? UP : DEGRADED, breaker.name(), null));
+
+        boolean ready = checks.values().stream().noneMatch(check -> DOWN.equals(check.getStatus()));
+        if (ready != lastReady) {
+            lastReady = ready;
+            if (ready) {
+                log.info("Readiness restored");
+            } else {
+                log.warn("Not ready: {}", checks.entrySet().stream()
+                        .filter(entry -> DOWN.equals(entry.getValue().getStatus()))
+                        .map(entry -> entry.getKey() + "=" + entry.getValue().getValue())
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        return new ProbeResponse(ready ? UP : OUT_OF_SERVICE, LocalDateTime.now(), checks);
+    }
+
+    /**
+     * Samples the cumulative GC time once a second and updates the share of wall time
+     * spent in GC over the window.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void sampleGcTime() {
+        if (sampleTimes == null) {
+            sampleTimes = new long[gcWindowSeconds + 1];
+            sampleGcTimes = new long[gcWindowSeconds + 1];
+        }
+
+        long gcTime = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcTime += Math.max(0, collector.getCollectionTime());
+        }
+        long now = System.currentTimeMillis();
+
+        int slot = samples % sampleTimes.length;
+        int oldest = samples < sampleTimes.length ? 0 : (samples + 1) % sampleTimes.length;
+        sampleTimes[slot] = now;
+        sampleGcTimes[slot] = gcTime;
+        samples++;
+
+        long elapsed = now - sampleTimes[oldest];
+        gcTimePercent = elapsed > 0 ? 100.0 * (gcTime - sampleGcTimes[oldest]) / elapsed : 0;
+    }
+
+    private int queuedRequests() {
+        ThreadPoolExecutor executor = requestExecutor;
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    private static ProbeResponse.Check limitCheck(Number value, Number limit) {
+        return new ProbeResponse.Check(value.doubleValue() >= limit.doubleValue() ? DOWN : UP, value, limit);
+    }
+}
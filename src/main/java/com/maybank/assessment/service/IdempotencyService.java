@@ -0,0 +1,221 @@
+package com.maybank.assessment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.entity.IdempotencyRecord;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.exception.ConflictException;
+import com.maybank.assessment.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates retried writes identified by an {@code Idempotency-Key} header.
+ * Completed responses are kept in memory for fast replay and persisted to the
+ * {@code idempotency_keys} table so they survive restarts. Requests with the same
+ * key are serialized through a fixed set of lock stripes, so concurrent retries of
+ * one request wait for the first attempt instead of executing it twice.
+ *
+ * <p>The key is inserted in the same transaction as the write it guards, so a crash
+ * cannot commit one without the other. When another node commits the same key first,
+ * the primary key rejects the insert, the write rolls back and the other node's
+ * response is replayed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final OptimisticRetryService optimisticRetryService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.stripes:64}")
+    private int stripeCount;
+
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+
+    private ReentrantLock[] stripes;
+
+    @PostConstruct
+    void initStripes() {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs {@code action} once per idempotency key. A replay with the same key and the
+     * same request returns the stored response without invoking {@code action}; a replay
+     * with a different request is rejected.
+     */
+    public <T> Outcome<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        validateKey(key);
+        String requestHash = hash(request);
+
+        T replayed = lookup(key, requestHash, responseType);
+        if (replayed != null) {
+            return new Outcome<>(replayed, true);
+        }
+
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            replayed = lookup(key, requestHash, responseType);
+            if (replayed != null) {
+                return new Outcome<>(replayed, true);
+            }
+
+            T response;
+            try {
+                // The action joins this transaction, and conflicts rerun both
+                response = optimisticRetryService.execute("idempotency.execute", () -> {
+                    T result = action.get();
+                    insert(key, requestHash, result);
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                replayed = lookup(key, requestHash, responseType);
+                if (replayed == null) {
+                    throw new ConflictException("A request with Idempotency-Key " + key + " is in progress", true);
+                }
+                log.debug("Idempotency key {} was committed concurrently, replaying", key);
+                return new Outcome<>(replayed, true);
+            }
+            remember(key, requestHash, response);
+            return new Outcome<>(response, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.getExpiresAt() < now);
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Evicted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> T lookup(String key, String requestHash, Class<T> responseType) {
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.getExpiresAt() >= System.currentTimeMillis()) {
+            checkSameRequest(key, cached.getRequestHash(), requestHash);
+            log.debug("Replaying cached response for idempotency key: {}", key);
+            return responseType.cast(cached.getResponse());
+        }
+
+        Optional<IdempotencyRecord> persisted = idempotencyRecordRepository.findById(key);
+        if (persisted.isEmpty() || persisted.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+
+        IdempotencyRecord record = persisted.get();
+        checkSameRequest(key, record.getRequestHash(), requestHash);
+        T response = deserialize(record.getResponseBody(), responseType);
+        remember(key, requestHash, response);
+        log.debug("Replaying persisted response for idempotency key: {}", key);
+        return response;
+    }
+
+    private void insert(String key, String requestHash, Object response) {
+        LocalDateTime now = LocalDateTime.now();
+        // An expired record not yet cleaned up would otherwise block the key
+        idempotencyRecordRepository.deleteExpired(key, now);
+        idempotencyRecordRepository.insert(key, requestHash, serialize(response), now, now.plusMinutes(ttlMinutes));
+    }
+
+    private void remember(String key, String requestHash, Object response) {
+        if (cache.size() < maxEntries) {
+            long expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+            cache.put(key, new CachedResponse(requestHash, response, expiresAt));
+        }
+    }
+
+    private void checkSameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key " + key + " was already used with a different request");
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(serialize(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize idempotent response", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Outcome<T> {
+        private final T response;
+        private final boolean replayed;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResponse {
+        private final String requestHash;
+        private final Object response;
+        private final long expiresAt;
+    }
+}
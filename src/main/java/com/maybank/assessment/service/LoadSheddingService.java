@@ -0,0 +1,58 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.config.RateLimitProperties;
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.datasource.WorkloadConnectionPools;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adaptive admission control driven by the Hikari wait queue. Below the configured
+ * threshold every request is admitted; above it, requests are shed with a probability
+ * that rises linearly until the limit, where everything is shed. Rejecting early keeps
+ * admitted requests fast instead of letting all of them time out on the pool.
+ *
+ * <p>The wait queue is the number of request threads blocked on the transactional and
+ * read pools together. Waiters on the batch pool are left out: exports and imports are
+ * meant to queue there, and shedding interactive requests would not drain it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoadSheddingService {
+
+    private final WorkloadConnectionPools connectionPools;
+    private final RateLimitProperties properties;
+
+    public boolean shouldShed() {
+        RateLimitProperties.Shedding shedding = properties.getShedding();
+        if (!shedding.isEnabled()) {
+            return false;
+        }
+
+        int pending = pendingThreads(WorkloadClass.TRANSACTIONAL) + pendingThreads(WorkloadClass.READ);
+        if (pending < shedding.getPendingThreshold()) {
+            return false;
+        }
+        if (pending >= shedding.getPendingLimit()) {
+            return true;
+        }
+
+        double shedProbability = (double) (pending - shedding.getPendingThreshold() + 1)
+                / (shedding.getPendingLimit() - shedding.getPendingThreshold() + 1);
+        return ThreadLocalRandom.current().nextDouble() < shedProbability;
+    }
+
+    /**
+     * Number of threads currently blocked waiting for a connection from the pool of the
+     * workload class, or 0 when the pool has not started yet.
+     */
+    public int pendingThreads(WorkloadClass workloadClass) {
+        HikariDataSource pool = connectionPools.get(workloadClass);
+        HikariPoolMXBean bean = pool != null ? pool.getHikariPoolMXBean() : null;
+        return bean != null ? bean.getThreadsAwaitingConnection() : 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and reruns it when it loses an
+ * optimistic-locking race, with exponential backoff and full jitter between attempts.
+ * After the last attempt the conflict surfaces as a retryable {@link ConflictException}.
+ * Retries and exhausted conflicts are counted per operation under
+ * {@code optimistic.lock.*} metrics.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OptimisticRetryService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${concurrency.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${concurrency.retry.initial-backoff-ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${concurrency.retry.max-backoff-ms:100}")
+    private long maxBackoffMs;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        // Inside a caller's transaction a rerun would reuse the failed persistence
+        // context, so only the outermost call retries
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        
+        counter("optimistic.lock.executions", operation).increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    counter("optimistic.lock.conflicts", operation).increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw new ConflictException(
+                            "The resource was modified concurrently by other requests, please retry", true);
+                }
+                counter("optimistic.lock.retries", operation).increment();
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying", operation, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceilingMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceilingMs + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a concurrent modification", true);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
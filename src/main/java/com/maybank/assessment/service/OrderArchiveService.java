@@ -0,0 +1,122 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.datasource.Workload;
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.entity.ChangeLogEntry;
+import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.event.OrdersChangedEvent;
+import com.maybank.assessment.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves DELIVERED and CANCELLED orders that reached that status more than
+ * {@code min-age-days} ago from {@code orders} to {@code orders_archive}, which is keyed
+ * by creation month so old months can be partitioned, compressed or dropped without
+ * touching the hot table. An order created long ago but only just delivered or cancelled
+ * stays in {@code orders} for the full period.
+ *
+ * <p>Orders are archived in background batches of {@code batch-size}, one transaction per
+ * batch and one batch every {@code batch-pause-ms}, so the locks of a batch are held
+ * briefly and checkouts keep running between batches. Once a batch finds fewer orders
+ * than it asked for, archiving sleeps for {@code interval-ms}.
+ *
+ * <p>Archived orders are still found by {@link OrderService#getOrderById(Long)} and
+ * {@link OrderService#getOrderByOrderNumber(String)}, but are read-only and no longer
+ * listed in the customer's orders or order history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+
+    private static final List<Order.OrderStatus> ARCHIVABLE_STATUSES =
+            List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${order.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${order.archive.min-age-days:90}")
+    private int minAgeDays;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.archive.interval-ms:3600000}")
+    private long intervalMs;
+
+    // Only touched by the scheduler thread
+    private long nextRunAt;
+    private long archivedThisRun;
+
+    /**
+     * Archives one batch, unless the previous batch drained the backlog less than
+     * {@code interval-ms} ago.
+     */
+    @Workload(WorkloadClass.BATCH)
+    @Scheduled(fixedDelayString = "${order.archive.batch-pause-ms:500}")
+    public void archiveNextBatch() {
+        if (!enabled || System.currentTimeMillis() < nextRunAt) {
+            return;
+        }
+
+        int candidates;
+        try {
+            candidates = archiveBatch(LocalDateTime.now().minusDays(minAgeDays));
+        } catch (RuntimeException e) {
+            log.warn("Order archive batch failed, retrying in {} ms: {}", intervalMs, e.getMessage());
+            nextRunAt = System.currentTimeMillis() + intervalMs;
+            return;
+        }
+
+        if (candidates < batchSize) {
+            if (archivedThisRun > 0) {
+                log.info("Archived {} orders finished more than {} days ago", archivedThisRun, minAgeDays);
+            }
+            archivedThisRun = 0;
+            nextRunAt = System.currentTimeMillis() + intervalMs;
+        }
+    }
+
+    /**
+     * Archives up to {@code batch-size} orders last updated before the cutoff in one
+     * transaction.
+     *
+     * @return the number of archivable orders found; fewer than the batch size once none
+     *         are left
+     */
+    private int archiveBatch(LocalDateTime updatedBefore) {
+        List<Long> ids = orderRepository.findArchivableIds(ARCHIVABLE_STATUSES, updatedBefore, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Integer archivedCount = transactionTemplate.execute(status -> {
+            Map<Long, String> archived = orderRepository.archive(ids, ARCHIVABLE_STATUSES, LocalDateTime.now());
+
+            Map<String, List<Long>> idsByCustomer = new LinkedHashMap<>();
+            archived.forEach((id, email) -> idsByCustomer.computeIfAbsent(email, key -> new ArrayList<>()).add(id));
+            idsByCustomer.forEach((email, orderIds) -> eventPublisher.publishEvent(
+                    new OrdersChangedEvent(email, orderIds, ChangeLogEntry.ChangeType.ARCHIVED)));
+            return archived.size();
+        });
+        archivedThisRun += archivedCount;
+        log.debug("Archived {} of {} orders in a batch", archivedCount, ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,324 @@
+package com.maybank.assessment.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-customer order histories packed into direct (off-heap) memory. Each order is a
+ * fixed 32-byte record: order ID, creation time in epoch microseconds, total amount in
+ * cents, quantity and status ordinal. A customer's records are kept in ascending order
+ * ID in one contiguous segment whose capacity is a power of two; a full segment is
+ * copied into one twice the size and the old one is reused for another customer.
+ *
+ * <p>On the heap there is only an open-addressing table from customer key to segment
+ * (24 bytes per customer), so the heap cost does not grow with the number of orders.
+ * Not thread-safe; callers guard access with a read-write lock.
+ */
+public class OrderHistoryStore {
+
+    public static final int RECORD_BYTES = 32;
+
+    private static final int ID_OFFSET = 0;
+    private static final int CREATED_AT_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int QUANTITY_OFFSET = 24;
+    private static final int STATUS_OFFSET = 28;
+
+    private static final int MIN_SIZE_CLASS = 2;
+    private static final int INITIAL_TABLE_CAPACITY = 1024;
+
+    private final int chunkBytes;
+    private final long maxBytes;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int bumpChunk = -1;
+    private int bumpOffset;
+    private long allocatedBytes;
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Long>[] freeSegments = new ArrayDeque[31];
+
+    private long[] keys = new long[INITIAL_TABLE_CAPACITY];
+    private long[] segments = new long[INITIAL_TABLE_CAPACITY];
+    private int[] counts = new int[INITIAL_TABLE_CAPACITY];
+    private byte[] sizeClasses = new byte[INITIAL_TABLE_CAPACITY];
+    private int customers;
+    private long orders;
+
+    public OrderHistoryStore(int chunkBytes, long maxBytes) {
+        this.chunkBytes = chunkBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds the order to the customer's history, or overwrites it if already present.
+     *
+     * @throws StoreFullException if the store would grow beyond its memory limit
+     */
+    public void put(long customerKey, long orderId, long createdAtMicros, long amountCents, int quantity, int status) {
+        int slot = findOrAddSlot(customerKey);
+        int count = counts[slot];
+        int index = search(segments[slot], count, orderId);
+        if (index < 0) {
+            index = -index - 1;
+            if (count == 1 << sizeClasses[slot] || segments[slot] == 0) {
+                grow(slot);
+            }
+            shiftRight(segments[slot], index, count);
+            counts[slot] = count + 1;
+            orders++;
+        }
+
+        ByteBuffer chunk = chunk(segments[slot]);
+        int offset = offset(segments[slot]) + index * RECORD_BYTES;
+        chunk.putLong(offset + ID_OFFSET, orderId);
+        chunk.putLong(offset + CREATED_AT_OFFSET, createdAtMicros);
+        chunk.putLong(offset + AMOUNT_OFFSET, amountCents);
+        chunk.putInt(offset + QUANTITY_OFFSET, quantity);
+        chunk.putInt(offset + STATUS_OFFSET, status);
+    }
+
+    public void remove(long customerKey, long orderId) {
+        int slot = findSlot(customerKey);
+        if (slot < 0) {
+            return;
+        }
+        int count = counts[slot];
+        int index = search(segments[slot], count, orderId);
+        if (index >= 0) {
+            shiftLeft(segments[slot], index, count);
+            counts[slot] = count - 1;
+            orders--;
+        }
+    }
+
+    public int count(long customerKey) {
+        int slot = findSlot(customerKey);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    /**
+     * Visits up to {@code limit} of the customer's orders, newest (highest order ID)
+     * first, after skipping the {@code offset} newest.
+     */
+    public void forEachNewestFirst(long customerKey, long offset, int limit, RecordVisitor visitor) {
+        int slot = findSlot(customerKey);
+        if (slot < 0 || offset >= counts[slot]) {
+            return;
+        }
+        ByteBuffer chunk = chunk(segments[slot]);
+        int base = offset(segments[slot]);
+        int from = counts[slot] - 1 - (int) offset;
+        for (int index = from; index >= 0 && index > from - limit; index--) {
+            int record = base + index * RECORD_BYTES;
+            visitor.visit(chunk.getLong(record + ID_OFFSET), chunk.getLong(record + CREATED_AT_OFFSET),
+                    chunk.getLong(record + AMOUNT_OFFSET), chunk.getInt(record + QUANTITY_OFFSET),
+                    chunk.getInt(record + STATUS_OFFSET));
+        }
+    }
+
+    public int customers() {
+        return customers;
+    }
+
+    public long orders() {
+        return orders;
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    private int search(long segment, int count, long orderId) {
+        if (segment == 0) {
+            return -1;
+        }
+        ByteBuffer chunk = chunk(segment);
+        int base = offset(segment);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = chunk.getLong(base + mid * RECORD_BYTES + ID_OFFSET);
+            if (id < orderId) {
+                low = mid + 1;
+            } else if (id > orderId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void grow(int slot) {
+        int count = counts[slot];
+        int sizeClass = segments[slot] == 0 ? MIN_SIZE_CLASS : sizeClasses[slot] + 1;
+        long segment = allocate(sizeClass);
+        if (count > 0) {
+            copy(segments[slot], 0, segment, 0, count);
+            release(segments[slot], sizeClasses[slot]);
+        }
+        segments[slot] = segment;
+        sizeClasses[slot] = (byte) sizeClass;
+    }
+
+    /**
+     * Segments are addressed as (chunk index + 1) in the high 32 bits and the byte
+     * offset in the low 32 bits, so 0 means "no segment".
+     */
+    private long allocate(int sizeClass) {
+        ArrayDeque<Long> free = freeSegments[sizeClass];
+        if (free != null && !free.isEmpty()) {
+            return free.pop();
+        }
+
+        int bytes = RECORD_BYTES << sizeClass;
+        if (bytes > chunkBytes / 4) {
+            // Large histories get a chunk of their own
+            return address(addChunk(bytes), 0);
+        }
+        if (bumpChunk < 0 || bumpOffset + bytes > chunkBytes) {
+            bumpChunk = addChunk(chunkBytes);
+            bumpOffset = 0;
+        }
+        long segment = address(bumpChunk, bumpOffset);
+        bumpOffset += bytes;
+        return segment;
+    }
+
+    private int addChunk(int bytes) {
+        if (allocatedBytes + bytes > maxBytes) {
+            throw new StoreFullException("order history would exceed " + maxBytes + " bytes");
+        }
+        chunks.add(ByteBuffer.allocateDirect(bytes));
+        allocatedBytes += bytes;
+        return chunks.size() - 1;
+    }
+
+    private void release(long segment, int sizeClass) {
+        if (freeSegments[sizeClass] == null) {
+            freeSegments[sizeClass] = new ArrayDeque<>();
+        }
+        freeSegments[sizeClass].push(segment);
+    }
+
+    private void shiftRight(long segment, int index, int count) {
+        copy(segment, index, segment, index + 1, count - index);
+    }
+
+    private void shiftLeft(long segment, int index, int count) {
+        copy(segment, index + 1, segment, index, count - index - 1);
+    }
+
+    /**
+     * Copies {@code records} records a long at a time, back to front when moving towards
+     * higher indexes so that overlapping ranges within one segment are safe.
+     */
+    private void copy(long from, int fromIndex, long to, int toIndex, int records) {
+        ByteBuffer source = chunk(from);
+        ByteBuffer target = chunk(to);
+        int sourceBase = offset(from) + fromIndex * RECORD_BYTES;
+        int targetBase = offset(to) + toIndex * RECORD_BYTES;
+        int bytes = records * RECORD_BYTES;
+        if (source == target && targetBase > sourceBase) {
+            for (int i = bytes - Long.BYTES; i >= 0; i -= Long.BYTES) {
+                target.putLong(targetBase + i, source.getLong(sourceBase + i));
+            }
+        } else {
+            for (int i = 0; i < bytes; i += Long.BYTES) {
+                target.putLong(targetBase + i, source.getLong(sourceBase + i));
+            }
+        }
+    }
+
+    private ByteBuffer chunk(long segment) {
+        return chunks.get((int) (segment >>> 32) - 1);
+    }
+
+    private static int offset(long segment) {
+        return (int) segment;
+    }
+
+    private static long address(int chunkIndex, int offset) {
+        return ((long) (chunkIndex + 1) << 32) | offset;
+    }
+
+    private int findSlot(long customerKey) {
+        long key = nonZero(customerKey);
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrAddSlot(long customerKey) {
+        int slot = findSlot(customerKey);
+        if (slot >= 0) {
+            return slot;
+        }
+        if ((customers + 1) * 2 > keys.length) {
+            rehash();
+        }
+        long key = nonZero(customerKey);
+        int mask = keys.length - 1;
+        slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        customers++;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldSegments = segments;
+        int[] oldCounts = counts;
+        byte[] oldSizeClasses = sizeClasses;
+
+        int capacity = oldKeys.length * 2;
+        keys = new long[capacity];
+        segments = new long[capacity];
+        counts = new int[capacity];
+        sizeClasses = new byte[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) {
+                continue;
+            }
+            int slot = mix(oldKeys[i]) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            segments[slot] = oldSegments[i];
+            counts[slot] = oldCounts[i];
+            sizeClasses[slot] = oldSizeClasses[i];
+        }
+    }
+
+    private static long nonZero(long key) {
+        return key == 0 ? 1 : key;
+    }
+
+    private static int mix(long key) {
+        return (int) (key ^ (key >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long orderId, long createdAtMicros, long amountCents, int quantity, int status);
+    }
+
+    public static class StoreFullException extends RuntimeException {
+        public StoreFullException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,24 +1,47 @@
 package com.maybank.assessment.service;
 
+import com.maybank.assessment.datasource.Workload;
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.dto.BasketOrderRequest;
+import com.maybank.assessment.dto.OrderLineRequest;
+import com.maybank.assessment.dto.OrderLineResponse;
 import com.maybank.assessment.dto.OrderRequest;
 import com.maybank.assessment.dto.OrderResponse;
+import com.maybank.assessment.dto.OrderSummaryResponse;
 import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.entity.ChangeLogEntry;
 import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.entity.OrderLine;
 import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.event.OrderStatusChangedEvent;
+import com.maybank.assessment.event.OrdersChangedEvent;
+import com.maybank.assessment.event.ProductsChangedEvent;
 import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.exception.ConflictException;
 import com.maybank.assessment.exception.ResourceNotFoundException;
+import com.maybank.assessment.repository.OrderHistoryView;
 import com.maybank.assessment.repository.OrderRepository;
 import com.maybank.assessment.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,17 +51,35 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetryService optimisticRetryService;
+    private final CustomerOrderHistoryService customerOrderHistoryService;
+    private final StockShardService stockShardService;
+    private final WriteBehindStockService writeBehindStockService;
 
-    @Transactional
+    /**
+     * Creates a single-product order. The stock read-modify-write is version-checked;
+     * when a concurrent checkout or product edit wins the race, the whole transaction
+     * is retried with backoff. Stock of a sharded product is taken from one of its
+     * shards instead, and stock of a write-behind product from its in-memory counter,
+     * leaving the product row untouched.
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
     public OrderResponse createOrder(OrderRequest request) {
-        log.info("Creating new order for customer: {}", request.getCustomerEmail());
+        log.debug("Creating new order for customer: {}", request.getCustomerEmail());
         
+        return optimisticRetryService.execute("order.create", () -> placeOrder(request));
+    }
+
+    private OrderResponse placeOrder(OrderRequest request) {
         // Fetch product
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + request.getProductId()));
         
         // Validate stock
-        if (product.getStockQuantity() < request.getQuantity()) {
+        boolean sharded = stockShardService.isSharded(product);
+        boolean writeBehind = !sharded && writeBehindStockService.covers(product.getId());
+        if (!sharded && !writeBehind && product.getStockQuantity() < request.getQuantity()) {
             throw new BadRequestException("Insufficient stock. Available: " + product.getStockQuantity());
         }
         
@@ -53,118 +94,355 @@ public class OrderService {
         order.setStatus(Order.OrderStatus.PENDING);
         order.setNotes(request.getNotes());
         
-        // Update product stock
-        product.setStockQuantity(product.getStockQuantity() - request.getQuantity());
-        productRepository.save(product);
+        // Update product stock: one of its shards, its write-behind counter, or the product
+        // row (version-checked; flushed now so a lost race fails fast)
+        if (sharded) {
+            if (!stockShardService.take(product, request.getQuantity())) {
+                throw new BadRequestException("Insufficient stock. Available: "
+                        + stockShardService.availableStock(product));
+            }
+        } else if (writeBehind) {
+            if (!writeBehindStockService.reserve(product.getId(), request.getQuantity())) {
+                throw new BadRequestException("Insufficient stock. Available: "
+                        + stockShardService.availableStock(product));
+            }
+        } else {
+            product.setStockQuantity(product.getStockQuantity() - request.getQuantity());
+            productRepository.saveAndFlush(product);
+        }
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(product.getId()),
+                ChangeLogEntry.ChangeType.UPDATED));
         
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrdersChangedEvent(savedOrder.getCustomerEmail(), List.of(savedOrder.getId()),
+                ChangeLogEntry.ChangeType.CREATED));
         log.info("Order created successfully with order number: {}", savedOrder.getOrderNumber());
         
         return mapToResponse(savedOrder);
     }
 
+    /**
+     * Creates one order for a basket of products. Stock for every line is checked and
+     * decremented in a single batched statement (in product ID order, so concurrent
+     * baskets lock rows consistently), all products are loaded with one query and the
+     * lines are inserted in a batch, so the number of round trips does not grow with
+     * the number of lines.
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
+    @Transactional
+    public OrderResponse createBasketOrder(BasketOrderRequest request) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating new basket order with {} lines for customer: {}",
+                    request.getLines().size(), request.getCustomerEmail());
+        }
+        
+        // Merge lines for the same product, keyed in ascending product ID order
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderLineRequest line : request.getLines()) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        
+        // Validate and update stock: write-behind products are reserved in memory and the
+        // rest decremented in a single batched statement; sharded products (stock_quantity
+        // always 0) are rejected by the batch and taken from their shards instead
+        SortedMap<Long, Integer> rowQuantities = new TreeMap<>(quantities);
+        Map<Long, Integer> rejected = writeBehindStockService.reserveAll(rowQuantities);
+        if (!rowQuantities.isEmpty()) {
+            Map<Long, Integer> rowRejected = productRepository.decrementStock(rowQuantities);
+            if (!rowRejected.isEmpty()) {
+                rejected.putAll(stockShardService.takeSharded(rowRejected));
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw stockRejection(rejected);
+        }
+        eventPublisher.publishEvent(new ProductsChangedEvent(new ArrayList<>(quantities.keySet()),
+                ChangeLogEntry.ChangeType.UPDATED));
+        
+        // Fetch products (stock already reflects this order)
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        // Create order with one line per product
+        Order order = new Order();
+        order.setOrderNumber(generateOrderNumber());
+        order.setCustomerName(request.getCustomerName());
+        order.setCustomerEmail(request.getCustomerEmail());
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setNotes(request.getNotes());
+        
+        int totalQuantity = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            OrderLine line = new OrderLine();
+            line.setOrder(order);
+            line.setProduct(product);
+            line.setQuantity(entry.getValue());
+            line.setUnitPrice(product.getPrice());
+            line.setLineTotal(product.getPrice().multiply(BigDecimal.valueOf(entry.getValue())));
+            order.getLines().add(line);
+            
+            totalQuantity += entry.getValue();
+            totalAmount = totalAmount.add(line.getLineTotal());
+        }
+        order.setQuantity(totalQuantity);
+        order.setTotalAmount(totalAmount);
+        
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrdersChangedEvent(savedOrder.getCustomerEmail(), List.of(savedOrder.getId()),
+                ChangeLogEntry.ChangeType.CREATED));
+        log.info("Basket order created successfully with order number: {}", savedOrder.getOrderNumber());
+        
+        return mapToResponse(savedOrder);
+    }
+
+    /**
+     * Returns the order, falling back to the order archive once it has been archived.
+     */
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        log.info("Fetching order with ID: {}", id);
+        log.debug("Fetching order with ID: {}", id);
         
         Order order = orderRepository.findById(id)
+                .or(() -> orderRepository.findArchivedById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
         
         return mapToResponse(order);
     }
 
+    /**
+     * Returns the order, falling back to the order archive once it has been archived.
+     */
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public OrderResponse getOrderByOrderNumber(String orderNumber) {
-        log.info("Fetching order with order number: {}", orderNumber);
+        log.debug("Fetching order with order number: {}", orderNumber);
         
         Order order = orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> orderRepository.findArchivedByOrderNumber(orderNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with order number: " + orderNumber));
         
         return mapToResponse(order);
     }
 
+    @Workload(WorkloadClass.BATCH)
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        log.info("Fetching all orders");
+        log.debug("Fetching all orders");
         
-        return orderRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(orderRepository.findAll());
     }
 
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrdersPaginated(Pageable pageable) {
-        log.info("Fetching orders with pagination: page={}, size={}", 
-                pageable.getPageNumber(), pageable.getPageSize());
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching orders with pagination: page={}, size={}", 
+                    pageable.getPageNumber(), pageable.getPageSize());
+        }
         
         Page<Order> orderPage = orderRepository.findAll(pageable);
-        return orderPage.map(this::mapToResponse);
+        return mapToResponses(orderPage);
     }
 
+    /**
+     * Returns the customer's orders, newest first. Once the customer order history index
+     * is loaded, the page of order IDs and the total come from the index and only the
+     * orders on the page are loaded, by primary key.
+     */
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public Page<OrderResponse> getOrdersByCustomerEmail(String email, Pageable pageable) {
-        log.info("Fetching orders for customer: {}", email);
+        log.debug("Fetching orders for customer: {}", email);
+        
+        if (customerOrderHistoryService.isReady()) {
+            Page<Long> idPage = customerOrderHistoryService.orderIds(email, pageable);
+            Map<Long, Order> orders = orderRepository.findAllById(idPage.getContent()).stream()
+                    .collect(Collectors.toMap(Order::getId, Function.identity()));
+            List<OrderResponse> content = mapToResponses(idPage.getContent().stream()
+                    .map(orders::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+            return new PageImpl<>(content, pageable, idPage.getTotalElements());
+        }
         
         Page<Order> orderPage = orderRepository.findByCustomerEmailOrderByCreatedAtDesc(email, pageable);
-        return orderPage.map(this::mapToResponse);
+        return mapToResponses(orderPage);
     }
 
-    @Transactional
-    public OrderResponse updateOrderStatus(Long id, Order.OrderStatus status) {
-        log.info("Updating order status for ID: {} to {}", id, status);
+    /**
+     * Returns a compact summary of the customer's orders, newest first. Served from the
+     * off-heap customer order history index without a database query once it is loaded,
+     * and from the database until then.
+     */
+    @Workload(WorkloadClass.READ)
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> getOrderHistory(String email, Pageable pageable) {
+        log.debug("Fetching order history for customer: {}", email);
         
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+        if (customerOrderHistoryService.isReady()) {
+            return customerOrderHistoryService.history(email, pageable);
+        }
         
-        order.setStatus(status);
-        Order updatedOrder = orderRepository.save(order);
+        Page<OrderHistoryView> orderPage = orderRepository.findHistoryByCustomerEmailOrderByCreatedAtDesc(email, pageable);
+        return orderPage.map(order -> new OrderSummaryResponse(order.getId(), order.getQuantity(),
+                order.getTotalAmount(), order.getStatus(), order.getCreatedAt()));
+    }
+
+    /**
+     * Updates the order status, retrying on concurrent modification.
+     *
+     * @param expectedVersion the version the client last read, or null to update the
+     *                        latest version
+     * @throws ConflictException if {@code expectedVersion} is stale or the order is archived
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
+    public OrderResponse updateOrderStatus(Long id, Order.OrderStatus status, Long expectedVersion) {
+        log.debug("Updating order status for ID: {} to {}", id, status);
         
-        log.info("Order status updated successfully for ID: {}", id);
-        return mapToResponse(updatedOrder);
+        return optimisticRetryService.execute("order.status", () -> {
+            Order order = findModifiableOrder(id);
+            
+            if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+                throw new ConflictException("Order " + id + " has changed (expected version " + expectedVersion
+                        + ", current version " + order.getVersion() + ")", false);
+            }
+            
+            order.setStatus(status);
+            Order updatedOrder = orderRepository.saveAndFlush(order);
+            eventPublisher.publishEvent(new OrdersChangedEvent(updatedOrder.getCustomerEmail(), List.of(id),
+                    ChangeLogEntry.ChangeType.UPDATED));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(id, updatedOrder.getOrderNumber(),
+                    updatedOrder.getStatus(), updatedOrder.getVersion(), updatedOrder.getUpdatedAt()));
+            
+            log.info("Order status updated successfully for ID: {}", id);
+            return mapToResponse(updatedOrder);
+        });
     }
 
+    @Workload(WorkloadClass.TRANSACTIONAL)
     @Transactional
     public void deleteOrder(Long id) {
-        log.info("Deleting order with ID: {}", id);
+        log.debug("Deleting order with ID: {}", id);
         
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
+        Order order = findModifiableOrder(id);
         
         orderRepository.delete(order);
+        eventPublisher.publishEvent(new OrdersChangedEvent(order.getCustomerEmail(), List.of(id),
+                ChangeLogEntry.ChangeType.DELETED));
         log.info("Order deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Loads an order for an update. Archived orders are read-only.
+     */
+    private Order findModifiableOrder(Long id) {
+        return orderRepository.findById(id).orElseThrow(() -> {
+            if (orderRepository.findArchivedById(id).isPresent()) {
+                return new ConflictException("Order " + id + " is archived and can no longer be changed", false);
+            }
+            return new ResourceNotFoundException("Order not found with ID: " + id);
+        });
+    }
+
     private String generateOrderNumber() {
         return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
+    private RuntimeException stockRejection(Map<Long, Integer> rejected) {
+        Map<Long, Product> existing = productRepository.findAllById(rejected.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        for (Long productId : rejected.keySet()) {
+            if (!existing.containsKey(productId)) {
+                return new ResourceNotFoundException("Product not found with ID: " + productId);
+            }
+        }
+        
+        String details = rejected.entrySet().stream()
+                .map(entry -> "product " + entry.getKey() + " (requested: " + entry.getValue()
+                        + ", available: " + stockShardService.availableStock(existing.get(entry.getKey())) + ")")
+                .collect(Collectors.joining(", "));
+        return new BadRequestException("Insufficient stock for " + details);
+    }
+
     private OrderResponse mapToResponse(Order order) {
+        return mapToResponse(order, stockShardService.availableStock(productsOf(List.of(order))));
+    }
+
+    private List<OrderResponse> mapToResponses(List<Order> orders) {
+        Map<Long, Integer> availableStock = stockShardService.availableStock(productsOf(orders));
+        return orders.stream()
+                .map(order -> mapToResponse(order, availableStock))
+                .collect(Collectors.toList());
+    }
+
+    private Page<OrderResponse> mapToResponses(Page<Order> orderPage) {
+        Map<Long, Integer> availableStock = stockShardService.availableStock(productsOf(orderPage.getContent()));
+        return orderPage.map(order -> mapToResponse(order, availableStock));
+    }
+
+    /**
+     * Returns the distinct products the orders and their lines refer to, so their stock can
+     * be read with one query.
+     */
+    private Collection<Product> productsOf(Collection<Order> orders) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Order order : orders) {
+            if (order.getProduct() != null) {
+                products.putIfAbsent(order.getProduct().getId(), order.getProduct());
+            }
+            order.getLines().forEach(line -> products.putIfAbsent(line.getProduct().getId(), line.getProduct()));
+        }
+        return products.values();
+    }
+
+    private OrderResponse mapToResponse(Order order, Map<Long, Integer> availableStock) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setOrderNumber(order.getOrderNumber());
         response.setCustomerName(order.getCustomerName());
         response.setCustomerEmail(order.getCustomerEmail());
-        response.setProduct(mapProductToResponse(order.getProduct()));
+        response.setProduct(order.getProduct() != null
+                ? mapProductToResponse(order.getProduct(), availableStock.get(order.getProduct().getId()))
+                : null);
         response.setQuantity(order.getQuantity());
+        response.setLines(order.getLines().stream()
+                .map(line -> mapLineToResponse(line, availableStock))
+                .collect(Collectors.toList()));
         response.setTotalAmount(order.getTotalAmount());
         response.setStatus(order.getStatus());
         response.setNotes(order.getNotes());
         response.setCreatedAt(order.getCreatedAt());
         response.setUpdatedAt(order.getUpdatedAt());
+        response.setVersion(order.getVersion());
+        return response;
+    }
+
+    private OrderLineResponse mapLineToResponse(OrderLine line, Map<Long, Integer> availableStock) {
+        OrderLineResponse response = new OrderLineResponse();
+        response.setId(line.getId());
+        response.setProduct(mapProductToResponse(line.getProduct(), availableStock.get(line.getProduct().getId())));
+        response.setQuantity(line.getQuantity());
+        response.setUnitPrice(line.getUnitPrice());
+        response.setLineTotal(line.getLineTotal());
         return response;
     }
 
-    private ProductResponse mapProductToResponse(Product product) {
+    private ProductResponse mapProductToResponse(Product product, int availableStock) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
         response.setName(product.getName());
         response.setDescription(product.getDescription());
         response.setPrice(product.getPrice());
-        response.setStockQuantity(product.getStockQuantity());
+        response.setStockQuantity(availableStock);
         response.setCategory(product.getCategory());
         response.setActive(product.getActive());
         response.setCreatedAt(product.getCreatedAt());
         response.setUpdatedAt(product.getUpdatedAt());
+        response.setVersion(product.getVersion());
         return response;
     }
 }
@@ -0,0 +1,283 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.OrderStatusResponse;
+import com.maybank.assessment.entity.ChangeLogEntry;
+import com.maybank.assessment.entity.Order;
+import com.maybank.assessment.event.OrderStatusChangedEvent;
+import com.maybank.assessment.event.OrdersChangedEvent;
+import com.maybank.assessment.exception.ResourceNotFoundException;
+import com.maybank.assessment.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes order status changes to Server-Sent Events subscribers once they commit.
+ * <p>
+ * An idle subscription is only an open async request and holds no thread. Sends run on
+ * virtual threads, one drain at a time per subscriber. Each subscriber holds at most one
+ * undelivered status, and a newer status replaces it, so a slow client costs bounded
+ * memory and delays nobody else; it simply skips to the latest status.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusStreamService {
+
+    private static final Set<Order.OrderStatus> FINAL_STATUSES =
+            EnumSet.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+
+    @Value("${order.status-stream.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Value("${order.status-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${order.status-stream.heartbeat-interval-ms:20000}")
+    private long heartbeatIntervalMs;
+
+    private final Map<Long, Set<Subscriber>> subscribersByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Opens a subscription to the order and queues its current status as the first event.
+     *
+     * @return the emitter, or empty when the subscriber limit has been reached
+     * @throws ResourceNotFoundException if the order does not exist
+     */
+    public Optional<SseEmitter> subscribe(Long orderId) {
+        if (!reserve()) {
+            log.warn("Order status subscriber limit of {} reached", maxSubscribers);
+            return Optional.empty();
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(orderId, emitter);
+        subscribersByOrder.compute(orderId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        
+        // Read after registering, so a change committed in between is not lost
+        Order order;
+        try {
+            order = orderRepository.findById(orderId)
+                    .or(() -> orderRepository.findArchivedById(orderId))
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        subscriber.offer(new OrderStatusResponse(order.getId(), order.getOrderNumber(), order.getStatus(),
+                order.getVersion(), order.getUpdatedAt()));
+        return Optional.of(emitter);
+    }
+
+    /**
+     * @see #subscribe(Long)
+     */
+    public Optional<SseEmitter> subscribeByOrderNumber(String orderNumber) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> orderRepository.findArchivedByOrderNumber(orderNumber))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with order number: " + orderNumber));
+        return subscribe(order.getId());
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByOrder.get(event.getOrderId());
+        if (subscribers == null) {
+            return;
+        }
+        OrderStatusResponse status = new OrderStatusResponse(event.getOrderId(), event.getOrderNumber(),
+                event.getStatus(), event.getVersion(), event.getUpdatedAt());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(status);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        if (event.getChangeType() != ChangeLogEntry.ChangeType.DELETED) {
+            return;
+        }
+        for (Long orderId : event.getOrderIds()) {
+            Set<Subscriber> subscribers = subscribersByOrder.get(orderId);
+            if (subscribers != null) {
+                subscribers.forEach(Subscriber::offerDeleted);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment line to subscribers that have been idle for a heartbeat interval,
+     * so proxies keep the connection open and dead clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-interval-ms:20000}")
+    public void sendHeartbeats() {
+        long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        for (Set<Subscriber> subscribers : subscribersByOrder.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offerHeartbeat(idleSince);
+            }
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = subscriberCount.get();
+            if (current >= maxSubscribers) {
+                return false;
+            }
+        } while (!subscriberCount.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private final class Subscriber {
+
+        private final Long orderId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastSentNanos = System.nanoTime();
+
+        // Guarded by this: the undelivered events and whether a drain is running
+        private OrderStatusResponse pendingStatus;
+        private long latestVersion = -1;
+        private boolean pendingDeleted;
+        private boolean pendingHeartbeat;
+        private boolean draining;
+
+        Subscriber(Long orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        void offer(OrderStatusResponse status) {
+            synchronized (this) {
+                // Initial read and change events may arrive in either order
+                if (status.getVersion() <= latestVersion) {
+                    return;
+                }
+                latestVersion = status.getVersion();
+                pendingStatus = status;
+            }
+            schedule();
+        }
+
+        void offerDeleted() {
+            synchronized (this) {
+                pendingDeleted = true;
+            }
+            schedule();
+        }
+
+        void offerHeartbeat(long idleSince) {
+            if (lastSentNanos - idleSince > 0) {
+                return;
+            }
+            synchronized (this) {
+                pendingHeartbeat = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (draining || closed.get()) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                OrderStatusResponse status;
+                boolean deleted;
+                boolean heartbeat;
+                synchronized (this) {
+                    status = pendingStatus;
+                    deleted = pendingDeleted;
+                    heartbeat = pendingHeartbeat;
+                    pendingStatus = null;
+                    pendingDeleted = false;
+                    pendingHeartbeat = false;
+                    if (closed.get() || (status == null && !deleted && !heartbeat)) {
+                        draining = false;
+                        return;
+                    }
+                }
+                
+                try {
+                    if (deleted) {
+                        emitter.send(SseEmitter.event().name("deleted").data(Map.of("id", orderId)));
+                        finish();
+                        return;
+                    }
+                    if (status != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(status.getVersion()))
+                                .name("status")
+                                .data(status));
+                        if (FINAL_STATUSES.contains(status.getStatus())) {
+                            finish();
+                            return;
+                        }
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    lastSentNanos = System.nanoTime();
+                } catch (IOException | IllegalStateException e) {
+                    // Client disconnected or the emitter has already completed
+                    log.debug("Dropping order status subscriber for order {}: {}", orderId, e.getMessage());
+                    close();
+                    return;
+                }
+            }
+        }
+
+        private void finish() {
+            close();
+            emitter.complete();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribersByOrder.computeIfPresent(orderId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.maybank.assessment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.datasource.Workload;
+import com.maybank.assessment.datasource.WorkloadClass;
+import com.maybank.assessment.dto.ProductImportResponse;
+import com.maybank.assessment.dto.ProductRequest;
+import com.maybank.assessment.entity.ChangeLogEntry;
+import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming catalog import. Rows are parsed one line at a time, validated against the
+ * {@link ProductRequest} constraints and applied in chunks: each chunk loads its existing
+ * products with one query, diffs them by name, saves only the changed rows in a single
+ * transaction and publishes {@link ProductsChangedEvent}s for the created and updated rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final int MAX_CHUNK_SIZE = 10000;
+
+    private final ProductRepository productRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockShardService stockShardService;
+    private final WriteBehindStockService writeBehindStockService;
+
+    @Value("${product.import.chunk-size:500}")
+    private int defaultChunkSize;
+
+    @Value("${product.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Workload(WorkloadClass.BATCH)
+    public ProductImportResponse importProducts(InputStream in, Format format, Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new BadRequestException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        
+        log.info("Importing products from {} feed with chunk size {}", format, size);
+        
+        ProductImportResponse result = new ProductImportResponse();
+        List<ParsedRow> chunk = new ArrayList<>(size);
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            Map<String, Integer> csvColumns = null;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new BadRequestException("CSV import requires a header row");
+                }
+                csvColumns = parseCsvHeader(header);
+            }
+            
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+                
+                ProductRequest row;
+                try {
+                    row = format == Format.CSV
+                            ? parseCsvRow(line, csvColumns)
+                            : objectMapper.readValue(line, ProductRequest.class);
+                } catch (Exception e) {
+                    recordError(result, lineNumber, "Malformed row: " + e.getMessage());
+                    continue;
+                }
+                
+                Set<ConstraintViolation<ProductRequest>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    recordError(result, lineNumber, violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+                
+                chunk.add(new ParsedRow(lineNumber, row));
+                if (chunk.size() >= size) {
+                    applyChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            
+            if (!chunk.isEmpty()) {
+                applyChunk(chunk, result);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read import body: " + e.getMessage());
+        }
+        
+        log.info("Product import finished: {} rows, {} created, {} updated, {} unchanged, {} failed",
+                result.getTotalRows(), result.getCreated(), result.getUpdated(),
+                result.getUnchanged(), result.getFailed());
+        
+        return result;
+    }
+
+    private void applyChunk(List<ParsedRow> chunk, ProductImportResponse result) {
+        ChunkStats stats;
+        try {
+            stats = transactionTemplate.execute(status -> upsertChunk(chunk));
+        } catch (Exception e) {
+            log.error("Product import chunk failed: ", e);
+            for (ParsedRow row : chunk) {
+                recordError(result, row.getLineNumber(), "Chunk could not be saved: " + e.getMessage());
+            }
+            return;
+        }
+        
+        result.setChunks(result.getChunks() + 1);
+        result.setCreated(result.getCreated() + stats.getCreated());
+        result.setUpdated(result.getUpdated() + stats.getUpdated());
+        result.setUnchanged(result.getUnchanged() + stats.getUnchanged());
+        
+        log.info("Imported chunk {}: {} created, {} updated, {} unchanged",
+                result.getChunks(), stats.getCreated(), stats.getUpdated(), stats.getUnchanged());
+    }
+
+    private ChunkStats upsertChunk(List<ParsedRow> chunk) {
+        Set<String> names = chunk.stream().map(row -> row.getRequest().getName()).collect(Collectors.toSet());
+        Map<String, Product> byName = new HashMap<>(productRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Product::getName, Function.identity(), (first, second) -> first)));
+        
+        Set<Product> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Product> createdProducts = Collections.newSetFromMap(new IdentityHashMap<>());
+        int created = 0;
+        int updated = 0;
+        int unchanged = 0;
+        
+        for (ParsedRow row : chunk) {
+            ProductRequest request = row.getRequest();
+            Product product = byName.get(request.getName());
+            if (product == null) {
+                product = new Product();
+                apply(product, request);
+                byName.put(request.getName(), product);
+                changed.add(product);
+                createdProducts.add(product);
+                created++;
+            } else if (differs(product, request)) {
+                apply(product, request);
+                changed.add(product);
+                updated++;
+            } else {
+                unchanged++;
+            }
+        }
+        
+        List<Long> createdIds = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Product product : productRepository.saveAll(changed)) {
+            (createdProducts.contains(product) ? createdIds : updatedIds).add(product.getId());
+        }
+        
+        // Published inside the chunk transaction so the change feed commits with the chunk
+        if (!createdIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(createdIds, ChangeLogEntry.ChangeType.CREATED));
+        }
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(updatedIds, ChangeLogEntry.ChangeType.UPDATED));
+        }
+        
+        return new ChunkStats(created, updated, unchanged);
+    }
+
+    private void apply(Product product, ProductRequest request) {
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        if (stockShardService.isSharded(product)) {
+            stockShardService.setStock(product, request.getStockQuantity());
+        } else if (writeBehindStockService.covers(product.getId())) {
+            writeBehindStockService.setStock(product.getId(), request.getStockQuantity());
+        } else {
+            product.setStockQuantity(request.getStockQuantity());
+        }
+        product.setCategory(request.getCategory());
+        if (request.getActive() != null) {
+            product.setActive(request.getActive());
+        } else if (product.getActive() == null) {
+            product.setActive(true);
+        }
+    }
+
+    private boolean differs(Product product, ProductRequest request) {
+        return !Objects.equals(product.getDescription(), request.getDescription())
+                || product.getPrice().compareTo(request.getPrice()) != 0
+                || stockShardService.availableStock(product) != request.getStockQuantity()
+                || !Objects.equals(product.getCategory(), request.getCategory())
+                || (request.getActive() != null && !request.getActive().equals(product.getActive()));
+    }
+
+    private void recordError(ProductImportResponse result, long lineNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ProductImportResponse.RowError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        List<String> columns = splitCsvLine(header);
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexes.put(columns.get(i).trim(), i);
+        }
+        for (String required : List.of("name", "price", "stockQuantity")) {
+            if (!indexes.containsKey(required)) {
+                throw new BadRequestException("CSV header is missing required column: " + required);
+            }
+        }
+        return indexes;
+    }
+
+    private ProductRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsvLine(line);
+        ProductRequest request = new ProductRequest();
+        request.setName(field(fields, columns, "name"));
+        request.setDescription(field(fields, columns, "description"));
+        
+        String price = field(fields, columns, "price");
+        request.setPrice(price != null ? new BigDecimal(price) : null);
+        
+        String stockQuantity = field(fields, columns, "stockQuantity");
+        request.setStockQuantity(stockQuantity != null ? Integer.valueOf(stockQuantity) : null);
+        
+        request.setCategory(field(fields, columns, "category"));
+        
+        String active = field(fields, columns, "active");
+        if (active == null) {
+            request.setActive(null);
+        } else if (active.equalsIgnoreCase("true") || active.equalsIgnoreCase("false")) {
+            request.setActive(Boolean.valueOf(active));
+        } else {
+            throw new IllegalArgumentException("active must be true or false");
+        }
+        return request;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV record. Fields may be wrapped in double quotes, inside which commas
+     * are literal and a doubled quote is an escaped quote.
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ParsedRow {
+        private final long lineNumber;
+        private final ProductRequest request;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ChunkStats {
+        private final int created;
+        private final int updated;
+        private final int unchanged;
+    }
+}
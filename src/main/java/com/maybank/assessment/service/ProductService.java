@@ -1,18 +1,27 @@
 package com.maybank.assessment.service;
 
+import com.maybank.assessment.datasource.Workload;
+import com.maybank.assessment.datasource.WorkloadClass;
 import com.maybank.assessment.dto.ProductRequest;
 import com.maybank.assessment.dto.ProductResponse;
+import com.maybank.assessment.entity.ChangeLogEntry;
 import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.exception.ConflictException;
 import com.maybank.assessment.exception.ResourceNotFoundException;
 import com.maybank.assessment.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,11 +29,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final Set<String> BROWSE_SORT_PROPERTIES = Set.of("id", "name", "price");
+
     private final ProductRepository productRepository;
+    private final CatalogIndexService catalogIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetryService optimisticRetryService;
+    private final StockShardService stockShardService;
+    private final WriteBehindStockService writeBehindStockService;
 
+    @Workload(WorkloadClass.TRANSACTIONAL)
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
-        log.info("Creating new product: {}", request.getName());
+        log.debug("Creating new product: {}", request.getName());
         
         Product product = new Product();
         product.setName(request.getName());
@@ -35,14 +52,17 @@ public class ProductService {
         product.setActive(request.getActive() != null ? request.getActive() : true);
         
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(savedProduct.getId()),
+                ChangeLogEntry.ChangeType.CREATED));
         log.info("Product created successfully with ID: {}", savedProduct.getId());
         
         return mapToResponse(savedProduct);
     }
 
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        log.info("Fetching product with ID: {}", id);
+        log.debug("Fetching product with ID: {}", id);
         
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
@@ -50,84 +70,203 @@ public class ProductService {
         return mapToResponse(product);
     }
 
+    @Workload(WorkloadClass.BATCH)
     @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
-        log.info("Fetching all products");
+        log.debug("Fetching all products");
         
-        return productRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(productRepository.findAll());
     }
 
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProductsPaginated(Pageable pageable) {
-        log.info("Fetching products with pagination: page={}, size={}", 
-                pageable.getPageNumber(), pageable.getPageSize());
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching products with pagination: page={}, size={}", 
+                    pageable.getPageNumber(), pageable.getPageSize());
+        }
         
         Page<Product> productPage = productRepository.findAll(pageable);
-        return productPage.map(this::mapToResponse);
+        return mapToResponses(productPage);
     }
 
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public Page<ProductResponse> getActiveProductsPaginated(Pageable pageable) {
-        log.info("Fetching active products with pagination");
+        log.debug("Fetching active products with pagination");
         
         Page<Product> productPage = productRepository.findByActiveTrue(pageable);
-        return productPage.map(this::mapToResponse);
+        return mapToResponses(productPage);
     }
 
+    @Workload(WorkloadClass.READ)
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
-        log.info("Searching products with keyword: {}", keyword);
+        log.debug("Searching products with keyword: {}", keyword);
         
         Page<Product> productPage = productRepository.searchProducts(keyword, pageable);
-        return productPage.map(this::mapToResponse);
+        return mapToResponses(productPage);
     }
 
-    @Transactional
+    /**
+     * Browses the catalog by category and availability. Served from the in-memory
+     * catalog index once it is loaded, and from the database until then.
+     */
+    @Workload(WorkloadClass.READ)
+    public Page<ProductResponse> browseProducts(String category, boolean availableOnly, Pageable pageable) {
+        log.debug("Browsing products: category={}, availableOnly={}", category, availableOnly);
+        
+        pageable.getSort().forEach(order -> {
+            if (!BROWSE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Browse results can only be sorted by " + BROWSE_SORT_PROPERTIES);
+            }
+        });
+        
+        if (catalogIndexService.isReady()) {
+            return catalogIndexService.browse(category, availableOnly, pageable);
+        }
+        
+        Page<Product> productPage;
+        if (category != null && availableOnly) {
+            productPage = productRepository.findAvailableProductsByCategory(category, pageable);
+        } else if (category != null) {
+            productPage = productRepository.findByCategory(category, pageable);
+        } else if (availableOnly) {
+            productPage = productRepository.findAvailableProducts(pageable);
+        } else {
+            productPage = productRepository.findAll(pageable);
+        }
+        return mapToResponses(productPage);
+    }
+
+    /**
+     * Applies the update to the latest version of the product, retrying on concurrent
+     * modification. When the request carries the version the client read, a product
+     * changed since then is rejected instead of overwritten.
+     *
+     * @throws ConflictException if {@code request.version} is stale
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
     public ProductResponse updateProduct(Long id, ProductRequest request) {
-        log.info("Updating product with ID: {}", id);
+        log.debug("Updating product with ID: {}", id);
         
+        return optimisticRetryService.execute("product.update", () -> applyUpdate(id, request));
+    }
+
+    private ProductResponse applyUpdate(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
         
+        if (request.getVersion() != null && !request.getVersion().equals(product.getVersion())) {
+            throw new ConflictException("Product " + id + " has changed (expected version " + request.getVersion()
+                    + ", current version " + product.getVersion() + ")", false);
+        }
+        
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
-        product.setStockQuantity(request.getStockQuantity());
+        if (stockShardService.isSharded(product)) {
+            stockShardService.setStock(product, request.getStockQuantity());
+        } else if (writeBehindStockService.covers(product.getId())) {
+            writeBehindStockService.setStock(product.getId(), request.getStockQuantity());
+        } else {
+            product.setStockQuantity(request.getStockQuantity());
+        }
         product.setCategory(request.getCategory());
         if (request.getActive() != null) {
             product.setActive(request.getActive());
         }
         
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(updatedProduct.getId()),
+                ChangeLogEntry.ChangeType.UPDATED));
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
         
         return mapToResponse(updatedProduct);
     }
 
+    /**
+     * Splits the product's stock across {@code shards} stock shards (or re-splits it),
+     * retrying on concurrent modification.
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
+    public ProductResponse shardStock(Long id, int shards) {
+        log.debug("Sharding stock of product with ID: {} into {} shards", id, shards);
+        
+        return optimisticRetryService.execute("product.shard", () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+            
+            stockShardService.shard(product, shards);
+            return saveStockChange(product);
+        });
+    }
+
+    /**
+     * Moves a sharded product's stock back to a single stock quantity, retrying on
+     * concurrent modification.
+     */
+    @Workload(WorkloadClass.TRANSACTIONAL)
+    public ProductResponse unshardStock(Long id) {
+        log.debug("Unsharding stock of product with ID: {}", id);
+        
+        return optimisticRetryService.execute("product.unshard", () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+            
+            stockShardService.unshard(product);
+            return saveStockChange(product);
+        });
+    }
+
+    private ProductResponse saveStockChange(Product product) {
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(updatedProduct.getId()),
+                ChangeLogEntry.ChangeType.UPDATED));
+        return mapToResponse(updatedProduct);
+    }
+
+    @Workload(WorkloadClass.TRANSACTIONAL)
     @Transactional
     public void deleteProduct(Long id) {
-        log.info("Deleting product with ID: {}", id);
+        log.debug("Deleting product with ID: {}", id);
         
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
         
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id), ChangeLogEntry.ChangeType.DELETED));
         log.info("Product deleted successfully with ID: {}", id);
     }
 
     private ProductResponse mapToResponse(Product product) {
+        return mapToResponse(product, stockShardService.availableStock(product));
+    }
+
+    private List<ProductResponse> mapToResponses(List<Product> products) {
+        Map<Long, Integer> availableStock = stockShardService.availableStock(products);
+        return products.stream()
+                .map(product -> mapToResponse(product, availableStock.get(product.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private Page<ProductResponse> mapToResponses(Page<Product> productPage) {
+        Map<Long, Integer> availableStock = stockShardService.availableStock(productPage.getContent());
+        return productPage.map(product -> mapToResponse(product, availableStock.get(product.getId())));
+    }
+
+    private ProductResponse mapToResponse(Product product, int availableStock) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
         response.setName(product.getName());
         response.setDescription(product.getDescription());
         response.setPrice(product.getPrice());
-        response.setStockQuantity(product.getStockQuantity());
+        response.setStockQuantity(availableStock);
         response.setCategory(product.getCategory());
         response.setActive(product.getActive());
         response.setCreatedAt(product.getCreatedAt());
         response.setUpdatedAt(product.getUpdatedAt());
+        response.setVersion(product.getVersion());
         return response;
     }
 }
@@ -0,0 +1,69 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token-bucket rate limiting. Each (route rule, client) pair owns its own
+ * bucket, so a noisy client exhausts only its own budget on the routes it hits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RateLimiterService {
+
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Takes one token for the given request.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String method, String path, String clientKey) {
+        int ruleIndex = matchRule(method, path);
+        RateLimitProperties.Rule rule = ruleIndex < 0
+                ? properties.getDefaultRule()
+                : properties.getRoutes().get(ruleIndex);
+
+        TokenBucket bucket = buckets.computeIfAbsent(ruleIndex + "|" + clientKey,
+                key -> new TokenBucket(rule.getCapacity(), rule.getRefillPerSecond()));
+        return bucket.tryAcquire();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        List<String> idle = new ArrayList<>();
+        buckets.forEach((key, bucket) -> {
+            if (bucket.isIdle()) {
+                idle.add(key);
+            }
+        });
+        idle.forEach(key -> buckets.computeIfPresent(key, (k, bucket) -> bucket.isIdle() ? null : bucket));
+        if (!idle.isEmpty()) {
+            log.debug("Evicted {} idle rate-limit buckets", idle.size());
+        }
+    }
+
+    private int matchRule(String method, String path) {
+        List<RateLimitProperties.Rule> routes = properties.getRoutes();
+        for (int i = 0; i < routes.size(); i++) {
+            RateLimitProperties.Rule rule = routes.get(i);
+            if ((rule.getMethod() == null || rule.getMethod().equalsIgnoreCase(method))
+                    && pathMatcher.match(rule.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.ProbeResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the readiness checks of {@link HealthCheckService} as the {@code saturation}
+ * component of the actuator readiness group ({@code /actuator/health/readiness}).
+ */
+@Component
+@RequiredArgsConstructor
+public class SaturationHealthIndicator implements HealthIndicator {
+
+    private final HealthCheckService healthCheckService;
+
+    @Override
+    public Health health() {
+        ProbeResponse readiness = healthCheckService.readiness();
+        Status status = HealthCheckService.UP.equals(readiness.getStatus()) ? Status.UP : Status.OUT_OF_SERVICE;
+        return Health.status(status).withDetails(readiness.getChecks()).build();
+    }
+}
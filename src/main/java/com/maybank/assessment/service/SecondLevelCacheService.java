@@ -0,0 +1,110 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.CacheStatsResponse;
+import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the Hibernate second-level cache in step with product writes and reports
+ * per-region statistics. Writes made through the entity manager update the cache
+ * themselves; the batched JDBC stock decrement does not.
+ *
+ * <p>Evicting after the commit would leave a window where a read that started before
+ * the commit caches the old stock again, for the whole TTL. Instead, the products of
+ * every write that publishes {@link ProductsChangedEvent} are soft-locked in the cache
+ * before the transaction commits and unlocked once it has ended, the way Hibernate
+ * handles its own updates: while locked nothing is cached, and after the unlock only a
+ * read that started later may cache the product again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SecondLevelCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Product.class);
+        EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+        if (cacheAccess == null) {
+            return;
+        }
+        
+        // Without a transaction the write has already committed, so the lock is released at once
+        if (!entityManager.isJoinedToTransaction()) {
+            try (SessionImplementor session = entityManagerFactory.unwrap(SessionFactory.class)
+                    .openSession().unwrap(SessionImplementor.class)) {
+                softLock(session, persister, cacheAccess, event.getProductIds())
+                        .forEach(Runnable::run);
+            }
+            return;
+        }
+        
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        List<Runnable> unlocks = softLock(session, persister, cacheAccess, event.getProductIds());
+        session.getActionQueue().registerProcess((success, completedSession) -> unlocks.forEach(Runnable::run));
+    }
+
+    /**
+     * Locks the cached products and returns the actions that unlock them again.
+     */
+    private static List<Runnable> softLock(SessionImplementor session, EntityPersister persister,
+                                           EntityDataAccess cacheAccess, List<Long> productIds) {
+        return productIds.stream()
+                .map(productId -> {
+                    Object key = cacheAccess.generateCacheKey(productId, persister, session.getFactory(),
+                            session.getTenantIdentifier());
+                    SoftLock lock = cacheAccess.lockItem(session, key, null);
+                    return (Runnable) () -> cacheAccess.unlockItem(session, key, lock);
+                })
+                .toList();
+    }
+
+    public CacheStatsResponse getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        response.setStatementsPrepared(statistics.getPrepareStatementCount());
+        response.setEntityLoads(statistics.getEntityLoadCount());
+        
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long lookups = region.getHitCount() + region.getMissCount();
+            response.getRegions().add(new CacheStatsResponse.RegionStats(
+                    regionName,
+                    region.getHitCount(),
+                    region.getMissCount(),
+                    region.getPutCount(),
+                    lookups > 0 ? (double) region.getHitCount() / lookups : 0
+            ));
+        }
+        return response;
+    }
+}
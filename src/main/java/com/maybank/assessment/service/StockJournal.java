@@ -0,0 +1,227 @@
+package com.maybank.assessment.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of write-behind stock changes, one text line per entry:
+ * {@code seq,type,productId,value,transactionId}. The entries of one database
+ * transaction share a transaction ID, the sequence number of its first entry. Entries go
+ * to the current segment file ({@code stock-<first seq>.journal}); each flush starts a
+ * new segment, copying over the entries of transactions still in flight, and closed
+ * segments are deleted once the flush that covers them has committed.
+ *
+ * <p>Appending and syncing are separate: {@link #append} only writes to the file, and
+ * {@link #sync(long)} forces it to disk unless a concurrent sync already covered the
+ * entry, so checkouts that append at the same time share one fsync.
+ */
+public class StockJournal implements Closeable {
+
+    public enum Type {
+        /** Stock changed by {@code value} units (negative for a reservation). */
+        DELTA,
+        /** Stock set to {@code value} units. */
+        SET
+    }
+
+    public record Entry(long seq, Type type, long productId, int value, long transactionId) {
+    }
+
+    private static final String PREFIX = "stock-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+
+    // Guarded by this
+    private FileChannel channel;
+    private Path segment;
+    private long segmentFirstSeq;
+    private long lastSeq;
+
+    // Lock order: syncLock before this
+    private final Object syncLock = new Object();
+    private volatile long syncedSeq;
+
+    public StockJournal(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads the entries of every segment in sequence order, once each (an entry copied
+     * into a newer segment is also still in the older one until it is deleted). A torn
+     * last line left by a crash in the middle of an append is skipped.
+     */
+    public List<Entry> readAll() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path path : segments()) {
+            String content = Files.readString(path, StandardCharsets.UTF_8);
+            // Only newline-terminated lines are complete; a torn tail may still parse
+            String[] lines = content.substring(0, content.lastIndexOf('\n') + 1).split("\n");
+            for (String line : lines) {
+                String[] fields = line.split(",");
+                if (fields.length == 5) {
+                    entries.add(new Entry(Long.parseLong(fields[0]), Type.valueOf(fields[1]),
+                            Long.parseLong(fields[2]), Integer.parseInt(fields[3]), Long.parseLong(fields[4])));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::seq));
+        List<Entry> unique = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (unique.isEmpty() || unique.get(unique.size() - 1).seq() != entry.seq()) {
+                unique.add(entry);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Starts a new segment whose first entry follows {@code lastSeq}.
+     */
+    public synchronized void open(long lastSeq) throws IOException {
+        this.lastSeq = lastSeq;
+        this.syncedSeq = lastSeq;
+        openSegment();
+    }
+
+    /**
+     * Writes an entry to the current segment, without forcing it to disk.
+     *
+     * @param transactionId the transaction the entry belongs to, or 0 to start a
+     *                      transaction identified by this entry's sequence number
+     */
+    public synchronized Entry append(Type type, long productId, int value, long transactionId) throws IOException {
+        long seq = lastSeq + 1;
+        Entry entry = new Entry(seq, type, productId, value, transactionId != 0 ? transactionId : seq);
+        write(entry);
+        lastSeq = seq;
+        return entry;
+    }
+
+    /**
+     * Returns once the entry {@code seq} and every entry before it are on disk.
+     */
+    public void sync(long seq) throws IOException {
+        if (syncedSeq >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            synchronized (this) {
+                current = channel;
+                target = lastSeq;
+            }
+            current.force(false);
+            syncedSeq = target;
+        }
+    }
+
+    /**
+     * Forces and closes the current segment and starts a new one holding copies of
+     * {@code carryOver}, also forced to disk, so the closed segments can be deleted
+     * without losing those entries. Keeps the current segment when nothing was appended
+     * to it; it then already holds every entry still in flight.
+     *
+     * @return the sequence number of the last entry in the closed segments
+     */
+    public long rotate(Collection<Entry> carryOver) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (lastSeq < segmentFirstSeq) {
+                    return lastSeq;
+                }
+                channel.force(false);
+                channel.close();
+                openSegment();
+                for (Entry entry : carryOver) {
+                    write(entry);
+                }
+                channel.force(false);
+                syncedSeq = lastSeq;
+                return lastSeq;
+            }
+        }
+    }
+
+    /**
+     * Deletes every segment but the current one.
+     */
+    public void deleteClosedSegments() throws IOException {
+        Path current;
+        synchronized (this) {
+            current = segment;
+        }
+        for (Path path : segments()) {
+            if (!path.equals(current)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((entry.seq() + "," + entry.type() + "," + entry.productId() + ","
+                + entry.value() + "," + entry.transactionId() + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        // Names never repeat while running, and on startup every segment has been replayed,
+        // so a leftover segment with this name is truncated
+        segmentFirstSeq = lastSeq + 1;
+        segment = directory.resolve(PREFIX + segmentFirstSeq + SUFFIX);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        syncDirectory();
+    }
+
+    // Makes the new segment's directory entry durable; not supported on every platform
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(StockJournal::firstSeq))
+                    .toList();
+        }
+    }
+
+    private static long firstSeq(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
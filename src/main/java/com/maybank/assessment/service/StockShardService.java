@@ -0,0 +1,195 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.exception.BadRequestException;
+import com.maybank.assessment.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sharded inventory for products that sell too fast for a single stock row (flash
+ * sales). A sharded product's stock is split across N rows of product_stock_shards and
+ * {@code products.stock_quantity} stays at 0, so checkouts no longer queue on the product
+ * row: each one decrements a randomly chosen shard with a conditional update, and
+ * concurrent checkouts mostly land on different rows.
+ *
+ * <p>When the probed shards cannot cover an order (drained, or smaller than the
+ * quantity), the checkout locks every shard, takes the quantity from the total and
+ * spreads the remainder evenly again. The stock shown to clients is the sum of the
+ * shards, read in {@link #availableStock(Product)}.
+ *
+ * <p>All methods join the caller's transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockShardService {
+
+    private final ProductRepository productRepository;
+    private final WriteBehindStockService writeBehindStockService;
+
+    @Value("${inventory.sharding.max-shards:64}")
+    private int maxShards;
+
+    @Value("${inventory.sharding.probes:2}")
+    private int probes;
+
+    public boolean isSharded(Product product) {
+        return product.getStockShards() != null && product.getStockShards() > 0;
+    }
+
+    /**
+     * Returns the units available to order: the sum of the shards for a sharded product,
+     * the in-memory stock of a write-behind product, otherwise its stock quantity.
+     */
+    public int availableStock(Product product) {
+        if (!isSharded(product)) {
+            Integer writeBehindStock = writeBehindStockService.currentStock(product.getId());
+            return writeBehindStock != null ? writeBehindStock : product.getStockQuantity();
+        }
+        return productRepository.sumShards(List.of(product.getId())).getOrDefault(product.getId(), 0);
+    }
+
+    /**
+     * Returns the available stock of every product in {@code products}, with one query
+     * for all the sharded ones.
+     *
+     * @return available stock keyed by product ID
+     */
+    public Map<Long, Integer> availableStock(Collection<Product> products) {
+        List<Long> shardedIds = products.stream()
+                .filter(this::isSharded)
+                .map(Product::getId)
+                .toList();
+        Map<Long, Integer> available = new HashMap<>(productRepository.sumShards(shardedIds));
+        for (Product product : products) {
+            if (!isSharded(product)) {
+                available.put(product.getId(), availableStock(product));
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Takes {@code quantity} units from a sharded product. A few shards, starting at a
+     * random one, are tried with a conditional decrement; if none holds enough, every
+     * shard is locked and rebalanced around the order.
+     *
+     * @return false if the product's total stock is insufficient
+     * @throws OptimisticLockingFailureException if the product was unsharded concurrently
+     */
+    public boolean take(Product product, int quantity) {
+        Long productId = product.getId();
+        int shards = product.getStockShards();
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < Math.min(probes, shards); i++) {
+            if (productRepository.decrementShard(productId, (start + i) % shards, quantity)) {
+                return true;
+            }
+        }
+
+        int[] quantities = lockShards(productId);
+        int total = Arrays.stream(quantities).sum();
+        if (total < quantity) {
+            return false;
+        }
+        productRepository.updateShards(productId, distribute(total - quantity, quantities.length));
+        log.debug("Rebalanced {} stock shards of product {} ({} units left)", quantities.length, productId,
+                total - quantity);
+        return true;
+    }
+
+    /**
+     * Takes stock from the sharded products among {@code quantities}, in iteration order.
+     *
+     * @param quantities units to take, keyed by product ID
+     * @return the entries that could not be taken (unsharded, missing or insufficient)
+     */
+    public Map<Long, Integer> takeSharded(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Integer> rejected = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null || !isSharded(product) || !take(product, entry.getValue())) {
+                rejected.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Sets the total stock of a sharded product, spread evenly over its shards.
+     */
+    public void setStock(Product product, int total) {
+        int[] quantities = lockShards(product.getId());
+        productRepository.updateShards(product.getId(), distribute(total, quantities.length));
+    }
+
+    /**
+     * Splits the product's stock across {@code shards} shards, or re-splits it when the
+     * product is already sharded. The product entity is updated; the caller saves it.
+     */
+    public void shard(Product product, int shards) {
+        if (shards < 1 || shards > maxShards) {
+            throw new BadRequestException("Shard count must be between 1 and " + maxShards);
+        }
+        if (writeBehindStockService.covers(product.getId())) {
+            throw new BadRequestException("Product " + product.getId() + " uses write-behind stock and cannot be sharded");
+        }
+
+        int total = isSharded(product)
+                ? Arrays.stream(lockShards(product.getId())).sum()
+                : product.getStockQuantity();
+        productRepository.replaceShards(product.getId(), distribute(total, shards));
+        product.setStockQuantity(0);
+        product.setStockShards(shards);
+        log.info("Product {} stock split across {} shards ({} units)", product.getId(), shards, total);
+    }
+
+    /**
+     * Moves a sharded product's stock back into its stock quantity. The product entity is
+     * updated; the caller saves it.
+     */
+    public void unshard(Product product) {
+        if (!isSharded(product)) {
+            return;
+        }
+
+        int total = Arrays.stream(lockShards(product.getId())).sum();
+        productRepository.replaceShards(product.getId(), new int[0]);
+        product.setStockQuantity(total);
+        product.setStockShards(0);
+        log.info("Product {} stock unsharded ({} units)", product.getId(), total);
+    }
+
+    private int[] lockShards(Long productId) {
+        int[] quantities = productRepository.lockShards(productId);
+        if (quantities.length == 0) {
+            throw new OptimisticLockingFailureException("Stock sharding of product " + productId + " has changed");
+        }
+        return quantities;
+    }
+
+    private static int[] distribute(int total, int shards) {
+        int[] quantities = new int[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            quantities[shard] = total / shards + (shard < total % shards ? 1 : 0);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,50 @@
+package com.maybank.assessment.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Implemented as the equivalent generic cell rate algorithm:
+ * the whole bucket state is one "theoretical arrival time", advanced with a single CAS,
+ * so acquiring a token never blocks or allocates.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the token was granted, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long waitNanos = newTat - now - burstToleranceNanos - emissionIntervalNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely; it can then be dropped and
+     * recreated on demand without changing behaviour.
+     */
+    public boolean isIdle() {
+        return theoreticalArrivalTime.get() <= System.nanoTime();
+    }
+}
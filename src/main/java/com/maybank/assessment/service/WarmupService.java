@@ -0,0 +1,193 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.config.JacksonConfig;
+import com.maybank.assessment.datasource.WorkloadConnectionPools;
+import com.maybank.assessment.entity.Product;
+import com.maybank.assessment.repository.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warms a freshly started node up before it takes traffic. Runs on
+ * {@link ApplicationReadyEvent}, after the in-memory indexes have loaded; Spring Boot only
+ * switches readiness to ACCEPTING_TRAFFIC once every ready listener has returned, so
+ * {@code /api/health} and the readiness probe stay down until warm-up has finished.
+ *
+ * <p>Warm-up fills every connection pool to its maximum size, then sends rounds of
+ * read-only requests (plus an invalid order, to cover request binding and validation)
+ * through the local connector. That compiles the hot controller, service and
+ * serialization paths and loads the hottest products and the first catalog pages into
+ * the second-level and query caches. Warm-up requests carry a per-process token that
+ * exempts them from rate limiting.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService {
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private static final int CATALOG_PAGES = 5;
+
+    private final WorkloadConnectionPools connectionPools;
+    private final ProductRepository productRepository;
+
+    private final String token = UUID.randomUUID().toString();
+    private volatile boolean running;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.rounds:30}")
+    private int rounds;
+
+    @Value("${warmup.max-duration-ms:60000}")
+    private long maxDurationMs;
+
+    @Value("${warmup.hot-products:100}")
+    private int hotProducts;
+
+    /**
+     * Returns true if the request was sent by a warm-up that is still running.
+     */
+    public boolean isWarmupRequest(HttpServletRequest request) {
+        return running && token.equals(request.getHeader(TOKEN_HEADER));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext context)) {
+            return;
+        }
+
+        log.info("Warming up");
+        long start = System.currentTimeMillis();
+        int connections = openConnections();
+
+        running = true;
+        int requests = 0;
+        int failures = 0;
+        try {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            List<HttpRequest> round = buildRound(baseUrl);
+            long deadline = start + maxDurationMs;
+
+            for (int i = 0; i < rounds && System.currentTimeMillis() < deadline; i++) {
+                for (HttpRequest request : round) {
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 500) {
+                            failures++;
+                        }
+                    } catch (IOException e) {
+                        failures++;
+                    }
+                    requests++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early: {}", e.getMessage());
+        } finally {
+            running = false;
+        }
+
+        log.info("Warm-up finished in {} ms: {} connections opened, {} requests ({} failed)",
+                System.currentTimeMillis() - start, connections, requests, failures);
+    }
+
+    /**
+     * Opens and validates up to each pool's maximum number of connections at once, so the
+     * first burst of traffic does not wait for new physical connections.
+     */
+    private int openConnections() {
+        int opened = 0;
+        for (HikariDataSource pool : connectionPools.getPools().values()) {
+            opened += openConnections(pool);
+        }
+        return opened;
+    }
+
+    private int openConnections(HikariDataSource pool) {
+        int poolSize = pool.getMaximumPoolSize();
+        List<Connection> connections = new ArrayList<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection connection = pool.getConnection();
+                connections.add(connection);
+                connection.isValid(5);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not pre-open {} pool connections: {}", pool.getPoolName(), e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warm-up connection: {}", e.getMessage());
+                }
+            }
+        }
+        return connections.size();
+    }
+
+    private List<HttpRequest> buildRound(String baseUrl) {
+        List<HttpRequest> round = new ArrayList<>();
+        for (Product product : productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(hotProducts))) {
+            round.add(get(baseUrl + "/api/products/" + product.getId(), MediaType.APPLICATION_JSON_VALUE));
+        }
+        if (!round.isEmpty()) {
+            round.add(get(round.get(0).uri().toString(), JacksonConfig.CBOR_V1_VALUE));
+        }
+        for (int page = 0; page < CATALOG_PAGES; page++) {
+            round.add(get(baseUrl + "/api/products/paginated?page=" + page, MediaType.APPLICATION_JSON_VALUE));
+        }
+        round.add(get(baseUrl + "/api/products/browse?available=true&sortBy=name", MediaType.APPLICATION_JSON_VALUE));
+        round.add(get(baseUrl + "/api/products/active", MediaType.APPLICATION_JSON_VALUE));
+        round.add(get(baseUrl + "/api/products/search?keyword=a", MediaType.APPLICATION_JSON_VALUE));
+        round.add(get(baseUrl + "/api/orders/paginated?page=0", MediaType.APPLICATION_JSON_VALUE));
+        round.add(get(baseUrl + "/api/orders/customer/warmup@localhost/history", MediaType.APPLICATION_JSON_VALUE));
+        round.add(request(baseUrl + "/api/orders")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .build());
+        return round;
+    }
+
+    private HttpRequest get(String url, String accept) {
+        return request(url).header(HttpHeaders.ACCEPT, accept).GET().build();
+    }
+
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header(TOKEN_HEADER, token);
+    }
+}
@@ -0,0 +1,434 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.entity.ChangeLogEntry;
+import com.maybank.assessment.event.ProductsChangedEvent;
+import com.maybank.assessment.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind stock for products that sell faster than their row can be updated. When
+ * enabled, the stock of the configured products (all unsharded products if none are
+ * listed) is held in memory: a checkout reserves units from the in-memory counter and
+ * appends the change to a local {@link StockJournal}, and the counters changed since the
+ * last flush are written to {@code products} in one batched update per
+ * {@code flush-interval-ms}. Checkouts of these products no longer update, or queue on,
+ * the product row.
+ *
+ * <p>The journal entries of a transaction are on disk before it commits, tagged with a
+ * journal transaction ID that is inserted into stock_journal_transactions in the same
+ * database transaction, so that row exists only if the order (or stock edit) committed.
+ * Changes reach the counter only after commit; until then reserved units are held back
+ * from other checkouts, and a rollback just releases them. Each flush deletes the rows of
+ * the transactions it wrote, in the same transaction as the stock. On startup the
+ * entries of the transactions still listed are replayed onto {@code products}, in
+ * journal order, so a stock edit racing a checkout may replay in a different order than
+ * the two committed.
+ *
+ * <p>The in-memory counter is authoritative, so a write-behind product must only be
+ * sold through one node. Stock edits (product update and import) go through
+ * {@link #setStock(Long, int)}; write-behind products cannot be sharded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WriteBehindStockService {
+
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.write-behind.product-ids:}")
+    private Set<Long> productIds;
+
+    @Value("${inventory.write-behind.journal-dir:data/stock-journal}")
+    private String journalDir;
+
+    @Value("${inventory.write-behind.journal-id:default}")
+    private String journalId;
+
+    // Counters of every write-behind product used since startup; read without locking
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Guarded by this: counter updates, the journal transactions in flight, and the
+    // products and transactions committed since the last flush
+    private final Map<Long, JournalTransaction> inFlight = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private final List<Long> committedTransactions = new ArrayList<>();
+
+    private final Object flushLock = new Object();
+    private StockJournal journal;
+
+    // Committed stock and units reserved by transactions in flight, both guarded by the
+    // service; available is republished after each change so readers need no lock
+    private static class Counter {
+        private int stock;
+        private int reserved;
+        private volatile int available;
+
+        Counter(int stock) {
+            this.stock = stock;
+            this.available = stock;
+        }
+
+        private void publish() {
+            available = stock - reserved;
+        }
+    }
+
+    // The journal entries of one database transaction; id is 0 until the first entry
+    private static class JournalTransaction {
+        private long id;
+        private final List<StockJournal.Entry> entries = new ArrayList<>();
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new StockJournal(Path.of(journalDir));
+        replay();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Returns true if the product's stock is written behind. Sharded products never are;
+     * callers check for sharding first.
+     */
+    public boolean covers(Long productId) {
+        return enabled && productId != null && (productIds.isEmpty() || productIds.contains(productId));
+    }
+
+    /**
+     * Returns the available in-memory stock of a write-behind product (committed stock
+     * less the units reserved by transactions in flight), or null when the product's
+     * stock quantity is current (not a write-behind product, or unchanged since startup).
+     */
+    public Integer currentStock(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        Counter counter = counters.get(productId);
+        return counter != null ? counter.available : null;
+    }
+
+    /**
+     * Reserves {@code quantity} units of a write-behind product for the current
+     * transaction; they are taken from the stock if it commits.
+     *
+     * @return false if the product's stock is insufficient (or the product is gone)
+     */
+    public boolean reserve(Long productId, int quantity) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>(Map.of(productId, quantity));
+        return reserveAll(quantities).isEmpty() && quantities.isEmpty();
+    }
+
+    /**
+     * Reserves stock of the write-behind products among {@code quantities} for the
+     * current transaction and removes them from the map, leaving the other products for
+     * the caller. All reservations are synced to the journal with one fsync.
+     *
+     * @param quantities units to take, keyed by product ID
+     * @return the write-behind products whose stock is insufficient
+     */
+    public Map<Long, Integer> reserveAll(Map<Long, Integer> quantities) {
+        if (!enabled) {
+            return new LinkedHashMap<>();
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> reserveAll(quantities));
+        }
+
+        Map<Long, Integer> rejected = new LinkedHashMap<>();
+        JournalTransaction transaction = currentTransaction();
+        boolean started = transaction.id != 0;
+        long lastSeq = 0;
+        Iterator<Map.Entry<Long, Integer>> entries = quantities.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, Integer> entry = entries.next();
+            Long productId = entry.getKey();
+            int quantity = entry.getValue();
+            if (!covers(productId) || !load(productId)) {
+                continue;
+            }
+            entries.remove();
+
+            synchronized (this) {
+                Counter counter = counters.get(productId);
+                if (counter.available < quantity) {
+                    rejected.put(productId, quantity);
+                    continue;
+                }
+                lastSeq = append(transaction, StockJournal.Type.DELTA, productId, -quantity);
+                counter.reserved += quantity;
+                counter.publish();
+            }
+        }
+
+        if (lastSeq > 0) {
+            if (!started) {
+                productRepository.insertJournalTransaction(journalId, transaction.id);
+            }
+            sync(lastSeq);
+        }
+        return rejected;
+    }
+
+    /**
+     * Sets the stock of a write-behind product when the current transaction commits.
+     */
+    public void setStock(Long productId, int quantity) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> setStock(productId, quantity));
+            return;
+        }
+
+        JournalTransaction transaction = currentTransaction();
+        boolean started = transaction.id != 0;
+        long seq;
+        synchronized (this) {
+            seq = append(transaction, StockJournal.Type.SET, productId, quantity);
+        }
+        if (!started) {
+            productRepository.insertJournalTransaction(journalId, transaction.id);
+        }
+        sync(seq);
+    }
+
+    /**
+     * Writes the counters changed since the last flush to {@code products} in one batch,
+     * together with the journal checkpoint, then deletes the journal segments it covers.
+     */
+    @Scheduled(fixedDelayString = "${inventory.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            Map<Long, Integer> quantities = new TreeMap<>();
+            List<Long> transactionIds;
+            long seq;
+            synchronized (this) {
+                if (dirty.isEmpty() && committedTransactions.isEmpty()) {
+                    return;
+                }
+                List<StockJournal.Entry> carryOver = new ArrayList<>();
+                inFlight.values().forEach(transaction -> carryOver.addAll(transaction.entries));
+                try {
+                    seq = journal.rotate(carryOver);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                dirty.forEach(productId -> quantities.put(productId, counters.get(productId).stock));
+                dirty.clear();
+                transactionIds = new ArrayList<>(committedTransactions);
+                committedTransactions.clear();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    productRepository.writeStock(quantities);
+                    productRepository.deleteJournalTransactions(journalId, transactionIds);
+                    productRepository.saveJournalCheckpoint(journalId, seq);
+                    if (!quantities.isEmpty()) {
+                        eventPublisher.publishEvent(new ProductsChangedEvent(new ArrayList<>(quantities.keySet()),
+                                ChangeLogEntry.ChangeType.UPDATED));
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    dirty.addAll(quantities.keySet());
+                    committedTransactions.addAll(transactionIds);
+                }
+                log.warn("Write-behind stock flush failed, retrying on the next run: {}", e.getMessage());
+                return;
+            }
+
+            try {
+                journal.deleteClosedSegments();
+            } catch (IOException e) {
+                log.warn("Failed to delete flushed stock journal segments: {}", e.getMessage());
+            }
+            log.debug("Flushed stock of {} write-behind products (journal entry {})", quantities.size(), seq);
+        }
+    }
+
+    /**
+     * Applies the journal entries of the committed, unflushed transactions to
+     * {@code products} and starts a new journal segment.
+     */
+    private void replay() throws IOException {
+        List<StockJournal.Entry> entries = journal.readAll();
+        long checkpoint = productRepository.findJournalCheckpoint(journalId);
+        long lastSeq = entries.isEmpty() ? checkpoint : Math.max(checkpoint, entries.get(entries.size() - 1).seq());
+        Set<Long> committed = productRepository.findJournalTransactions(journalId);
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        int replayed = 0;
+        for (StockJournal.Entry entry : entries) {
+            if (!committed.contains(entry.transactionId())) {
+                continue;
+            }
+            Long productId = entry.productId();
+            Integer quantity = quantities.containsKey(productId)
+                    ? quantities.get(productId)
+                    : productRepository.findUnshardedStock(productId);
+            if (quantity == null) {
+                log.warn("Skipping stock journal entry {} for missing or sharded product {}", entry.seq(), productId);
+                continue;
+            }
+            quantities.put(productId, entry.type() == StockJournal.Type.SET
+                    ? entry.value()
+                    : quantity + entry.value());
+            replayed++;
+        }
+
+        if (!committed.isEmpty() || lastSeq > checkpoint) {
+            transactionTemplate.executeWithoutResult(status -> {
+                productRepository.writeStock(quantities);
+                productRepository.deleteJournalTransactions(journalId, committed);
+                productRepository.saveJournalCheckpoint(journalId, lastSeq);
+            });
+        }
+        journal.open(lastSeq);
+        journal.deleteClosedSegments();
+        log.info("Write-behind stock enabled ({}); replayed {} journal entries of {} transactions for {} products",
+                productIds.isEmpty() ? "all products" : productIds.size() + " products", replayed, committed.size(),
+                quantities.size());
+    }
+
+    /**
+     * Loads the product's stock into memory on first use. Until then its stock quantity is
+     * current, since only flushes write it.
+     *
+     * @return false if the product is missing or sharded
+     */
+    private boolean load(Long productId) {
+        if (counters.containsKey(productId)) {
+            return true;
+        }
+        Integer quantity = productRepository.findUnshardedStock(productId);
+        if (quantity == null) {
+            return false;
+        }
+        counters.putIfAbsent(productId, new Counter(quantity));
+        return true;
+    }
+
+    /**
+     * Returns the journal transaction bound to the current database transaction, starting
+     * one that is completed after the database transaction commits or rolls back.
+     */
+    private JournalTransaction currentTransaction() {
+        JournalTransaction transaction = (JournalTransaction) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (transaction != null) {
+            return transaction;
+        }
+        JournalTransaction started = new JournalTransaction();
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, started);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                complete(started, status == STATUS_COMMITTED);
+            }
+        });
+        return started;
+    }
+
+    /**
+     * Releases the units reserved by a finished transaction and, if it committed, applies
+     * its changes to the counters for the next flush.
+     */
+    private synchronized void complete(JournalTransaction transaction, boolean committed) {
+        if (transaction.id == 0) {
+            return;
+        }
+        inFlight.remove(transaction.id);
+        for (StockJournal.Entry entry : transaction.entries) {
+            Long productId = entry.productId();
+            Counter counter = counters.get(productId);
+            if (entry.type() == StockJournal.Type.DELTA) {
+                counter.reserved += entry.value();
+                if (committed) {
+                    counter.stock += entry.value();
+                }
+            } else if (committed) {
+                // A stock edit may set a product no checkout has loaded yet
+                counter = counters.computeIfAbsent(productId, id -> new Counter(entry.value()));
+                counter.stock = entry.value();
+            }
+            if (counter != null) {
+                counter.publish();
+            }
+            if (committed) {
+                dirty.add(productId);
+            }
+        }
+        if (committed) {
+            committedTransactions.add(transaction.id);
+        }
+    }
+
+    // Caller holds this
+    private long append(JournalTransaction transaction, StockJournal.Type type, Long productId, int value) {
+        StockJournal.Entry entry;
+        try {
+            entry = journal.append(type, productId, value, transaction.id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (transaction.id == 0) {
+            transaction.id = entry.transactionId();
+            inFlight.put(transaction.id, transaction);
+        }
+        transaction.entries.add(entry);
+        return entry.seq();
+    }
+
+    private void sync(long seq) {
+        try {
+            journal.sync(seq);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
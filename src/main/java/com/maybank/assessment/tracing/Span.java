@@ -0,0 +1,66 @@
+package com.maybank.assessment.tracing;
+
+import lombok.Getter;
+
+/**
+ * A timed unit of work within a {@link Trace}. Spans may be ended on a different thread
+ * than the one that started them, which is how asynchronous calls are measured.
+ */
+@Getter
+public class Span {
+
+    private final Trace trace;
+    private final String spanId;
+    private final String parentSpanId;
+    private volatile String name;
+    private final String kind;
+    private final long startNanos;
+    private volatile long endNanos;
+    private volatile String error;
+
+    Span(Trace trace, String spanId, String parentSpanId, String name, String kind) {
+        this.trace = trace;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts a span nested under this one.
+     */
+    public Span child(String name, String kind) {
+        return trace.startSpan(name, kind, spanId);
+    }
+
+    void rename(String name) {
+        this.name = name;
+    }
+
+    public void fail(Throwable ex) {
+        this.error = ex.getClass().getSimpleName() + (ex.getMessage() != null ? ": " + ex.getMessage() : "");
+    }
+
+    public void end() {
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public boolean isEnded() {
+        return endNanos != 0;
+    }
+
+    public long durationNanos() {
+        long end = endNanos;
+        return (end != 0 ? end : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * W3C traceparent value identifying this span as the parent of a downstream call.
+     */
+    public String traceparent() {
+        return "00-" + trace.getTraceId() + "-" + spanId + (trace.isSampled() ? "-01" : "-00");
+    }
+}
@@ -0,0 +1,80 @@
+package com.maybank.assessment.tracing;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * All spans recorded for one inbound request. Spans are always recorded so that a slow
+ * request can be kept as an exemplar; whether the trace is exported is decided once the
+ * request completes.
+ */
+public class Trace {
+
+    @Getter
+    private final String traceId;
+    @Getter
+    private final boolean sampled;
+    @Getter
+    private final long startEpochMillis;
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    @Getter
+    private final Span root;
+    private int droppedSpans;
+
+    Trace(String traceId, String remoteParentSpanId, boolean sampled, String rootName, int maxSpans) {
+        this.traceId = traceId;
+        this.sampled = sampled;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.maxSpans = maxSpans;
+        this.root = startSpan(rootName, "server", remoteParentSpanId);
+    }
+
+    Span startSpan(String name, String kind, String parentSpanId) {
+        Span span = new Span(this, randomHex(8), parentSpanId, name, kind);
+        synchronized (spans) {
+            if (spans.size() < maxSpans) {
+                spans.add(span);
+            } else {
+                droppedSpans++;
+            }
+        }
+        return span;
+    }
+
+    /**
+     * Names the trace after the matched route rather than the raw URI.
+     */
+    public void rename(String name) {
+        root.rename(name);
+    }
+
+    /**
+     * Snapshot of the recorded spans, safe to read while asynchronous work is still running.
+     */
+    public List<Span> spanSnapshot() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    public int droppedSpans() {
+        synchronized (spans) {
+            return droppedSpans;
+        }
+    }
+
+    static String randomHex(int bytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i += 8) {
+            long value = random.nextLong();
+            String chunk = Long.toHexString(value);
+            hex.append("0".repeat(16 - chunk.length())).append(chunk);
+        }
+        return hex.substring(0, bytes * 2);
+    }
+}
@@ -0,0 +1,166 @@
+package com.maybank.assessment.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.config.TracingProperties;
+import com.maybank.assessment.dto.TraceResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which finished traces are kept and writes them to an NDJSON file off the
+ * request path. Sampled traces are exported; slow traces are exported regardless of
+ * sampling and the most recent ones are also kept in memory as exemplars.
+ */
+@Slf4j
+@Component
+public class TraceExporter {
+
+    private final TracingProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Finished> queue;
+
+    private final Deque<TraceResponse> exemplars = new ArrayDeque<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TraceExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getExport().getQueueCapacity());
+    }
+
+    /**
+     * Called once the response for {@code trace} has been written.
+     */
+    public void complete(Trace trace, int status) {
+        Span root = trace.getRoot();
+        root.end();
+        
+        boolean slow = root.durationNanos() >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+        if (!trace.isSampled() && !slow) {
+            return;
+        }
+        
+        // Slow traces are converted right away for the exemplar buffer; the rest are
+        // converted on the flush thread so the request path only pays for the enqueue
+        TraceResponse exemplar = null;
+        if (slow) {
+            exemplar = toResponse(trace, status, true);
+            synchronized (exemplars) {
+                exemplars.addFirst(exemplar);
+                while (exemplars.size() > properties.getExemplarCapacity()) {
+                    exemplars.removeLast();
+                }
+            }
+        }
+        if (!queue.offer(new Finished(trace, status, exemplar))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Most recent slow-request exemplars, newest first.
+     */
+    public List<TraceResponse> exemplars() {
+        synchronized (exemplars) {
+            return new ArrayList<>(exemplars);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tracing.export.flush-interval-ms:1000}")
+    public void flush() {
+        List<Finished> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        
+        long droppedSinceLastFlush = dropped.getAndSet(0);
+        if (droppedSinceLastFlush > 0) {
+            log.warn("Dropped {} traces because the export queue was full", droppedSinceLastFlush);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        Path file = Path.of(properties.getExport().getFile());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Finished finished : batch) {
+                    TraceResponse record = finished.exemplar() != null
+                            ? finished.exemplar()
+                            : toResponse(finished.trace(), finished.status(), false);
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to export {} traces to {}: {}", batch.size(), file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private TraceResponse toResponse(Trace trace, int status, boolean slow) {
+        Span root = trace.getRoot();
+        List<Span> spans = trace.spanSnapshot();
+        
+        Map<String, Long> childNanos = new HashMap<>();
+        for (Span span : spans) {
+            if (span != root && span.getParentSpanId() != null) {
+                childNanos.merge(span.getParentSpanId(), span.durationNanos(), Long::sum);
+            }
+        }
+        
+        TraceResponse response = new TraceResponse();
+        response.setTraceId(trace.getTraceId());
+        response.setName(root.getName());
+        response.setStartTime(Instant.ofEpochMilli(trace.getStartEpochMillis()));
+        response.setStatus(status);
+        response.setDurationMs(root.durationNanos() / 1_000_000.0);
+        response.setSampled(trace.isSampled());
+        response.setExemplar(slow);
+        response.setDroppedSpans(trace.droppedSpans());
+        for (Span span : spans) {
+            long duration = span.durationNanos();
+            long self = Math.max(0, duration - childNanos.getOrDefault(span.getSpanId(), 0L));
+            response.getSpans().add(new TraceResponse.SpanData(
+                    span.getSpanId(),
+                    span.getParentSpanId(),
+                    span.getName(),
+                    span.getKind(),
+                    (span.getStartNanos() - root.getStartNanos()) / 1000,
+                    duration / 1000,
+                    self / 1000,
+                    span.getError()
+            ));
+        }
+        return response;
+    }
+
+    private record Finished(Trace trace, int status, TraceResponse exemplar) {
+    }
+}
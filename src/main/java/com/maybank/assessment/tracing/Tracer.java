@@ -0,0 +1,76 @@
+package com.maybank.assessment.tracing;
+
+import com.maybank.assessment.config.TracingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Entry point for request tracing. The span active on the current thread is held in a
+ * thread local; code running without an active span (background jobs, async callbacks)
+ * is simply not traced.
+ */
+@Component
+@RequiredArgsConstructor
+public class Tracer {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final TracingProperties properties;
+
+    /**
+     * Starts a trace for an inbound request, continuing the caller's trace when a valid
+     * traceparent header is present and honouring its sampled flag.
+     */
+    public Trace startTrace(String traceparent, String name) {
+        if (traceparent != null) {
+            var matcher = TRACEPARENT.matcher(traceparent.trim());
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))
+                    && !INVALID_SPAN_ID.equals(matcher.group(2))) {
+                boolean sampled = (Integer.parseInt(matcher.group(3), 16) & 0x01) != 0;
+                return new Trace(matcher.group(1), matcher.group(2), sampled, name, properties.getMaxSpansPerTrace());
+            }
+        }
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+        return new Trace(Trace.randomHex(16), null, sampled, name, properties.getMaxSpansPerTrace());
+    }
+
+    public Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code span} the active span on this thread and returns the previously
+     * active one, which the caller must restore with {@link #restore(Span)}.
+     */
+    public Span activate(Span span) {
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return previous;
+    }
+
+    public void restore(Span previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Starts a child of the active span without activating it, or returns null when
+     * there is no active trace.
+     */
+    public Span startSpan(String name, String kind) {
+        Span current = CURRENT.get();
+        return current != null ? current.child(name, kind) : null;
+    }
+}
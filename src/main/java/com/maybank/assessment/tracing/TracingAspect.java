@@ -0,0 +1,80 @@
+package com.maybank.assessment.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records a span around every controller, service and repository call made while a
+ * trace is active. Calls returning a {@link CompletableFuture} are timed until the
+ * future completes rather than until the method returns. Runs outside the transaction
+ * advice so connection checkout and commit are attributed to the calling service.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", joinPoint.getSignature().getDeclaringType());
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        // Inherited methods such as save() are declared on CrudRepository; name the span
+        // after the application repository instead
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return trace(joinPoint, "repository", interfaces.length > 0 ? interfaces[0] : joinPoint.getSignature().getDeclaringType());
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String kind, Class<?> type) throws Throwable {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return joinPoint.proceed();
+        }
+        
+        Span span = parent.child(type.getSimpleName() + "." + joinPoint.getSignature().getName(), kind);
+        tracer.activate(span);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.fail(ex);
+            span.end();
+            throw ex;
+        } finally {
+            tracer.restore(parent);
+        }
+        
+        if (result instanceof CompletableFuture<?> future && !future.isDone()) {
+            future.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    span.fail(ex);
+                }
+                span.end();
+            });
+        } else {
+            span.end();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.maybank.assessment.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Times outbound {@code RestTemplate} calls and propagates the trace context to the
+ * upstream service. The span ends when the response headers arrive; reading a streamed
+ * body is attributed to the calling span.
+ */
+@RequiredArgsConstructor
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Span span = tracer.startSpan(request.getMethod() + " " + request.getURI().getHost() + request.getURI().getPath(),
+                "client");
+        if (span == null) {
+            return execution.execute(request, body);
+        }
+        
+        request.getHeaders().set(Tracer.TRACEPARENT_HEADER, span.traceparent());
+        try {
+            return execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            span.fail(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
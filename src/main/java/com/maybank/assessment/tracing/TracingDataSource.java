@@ -0,0 +1,38 @@
+package com.maybank.assessment.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Records how long each connection checkout waits on the pool. Unwrapping still
+ * reaches the underlying pool, so Hikari-specific callers are unaffected.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final Tracer tracer;
+
+    public TracingDataSource(DataSource targetDataSource, Tracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Span span = tracer.startSpan("db.connection.acquire", "db");
+        if (span == null) {
+            return super.getConnection();
+        }
+        
+        try {
+            return super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            span.fail(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
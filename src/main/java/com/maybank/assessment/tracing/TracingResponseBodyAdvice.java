@@ -0,0 +1,40 @@
+package com.maybank.assessment.tracing;
+
+import com.maybank.assessment.filter.TracingFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Opens a span just before the response body is serialized. {@link TracingFilter} ends
+ * it once the body has been written, so the span covers Jackson serialization and the
+ * copy to the client.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class TracingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    private final Tracer tracer;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return tracer.currentSpan() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        Span span = tracer.startSpan("response.write " + selectedContentType, "serialize");
+        if (span != null && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(TracingFilter.RESPONSE_WRITE_SPAN_ATTRIBUTE, span);
+        }
+        return body;
+    }
+}
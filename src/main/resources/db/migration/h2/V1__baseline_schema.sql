@@ -0,0 +1,29 @@
+-- ========================================
+-- Baseline schema: products and single-product orders
+-- ========================================
+
+CREATE TABLE products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price NUMERIC(10,2) NOT NULL,
+    stock_quantity INT NOT NULL,
+    category VARCHAR(50),
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL UNIQUE,
+    customer_name VARCHAR(100) NOT NULL,
+    customer_email VARCHAR(100) NOT NULL,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INT NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    notes VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
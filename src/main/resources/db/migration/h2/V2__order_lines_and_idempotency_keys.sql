@@ -0,0 +1,25 @@
+-- ========================================
+-- Multi-line orders and idempotency keys
+-- ========================================
+
+-- Multi-line orders leave orders.product_id empty
+ALTER TABLE orders ALTER COLUMN product_id SET NULL;
+
+CREATE SEQUENCE IF NOT EXISTS order_lines_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_lines (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL REFERENCES orders(id),
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INT NOT NULL,
+    unit_price NUMERIC(10,2) NOT NULL,
+    line_total NUMERIC(10,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body CLOB NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,8 @@
+-- ========================================
+-- Optimistic-locking version columns (JPA @Version)
+-- Existing rows start at version 0
+-- ========================================
+
+ALTER TABLE products ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE orders ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
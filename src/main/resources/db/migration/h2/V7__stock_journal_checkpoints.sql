@@ -0,0 +1,10 @@
+-- ========================================
+-- Write-behind stock (inventory.write-behind.enabled)
+-- Last stock journal entry whose changes have been flushed to products, per
+-- journal; written in the same transaction as the flushed stock quantities
+-- ========================================
+
+CREATE TABLE stock_journal_checkpoints (
+    journal_id VARCHAR(100) PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
@@ -0,0 +1,30 @@
+-- ========================================
+-- Baseline schema: products and single-product orders
+-- Databases created earlier by ddl-auto=update are baselined at this version
+-- ========================================
+
+CREATE TABLE products (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price NUMERIC(10,2) NOT NULL,
+    stock_quantity INT NOT NULL,
+    category VARCHAR(50),
+    active BIT NOT NULL,
+    created_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL
+);
+
+CREATE TABLE orders (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL UNIQUE,
+    customer_name VARCHAR(100) NOT NULL,
+    customer_email VARCHAR(100) NOT NULL,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INT NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    notes VARCHAR(500),
+    created_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL
+);
@@ -0,0 +1,29 @@
+-- ========================================
+-- Multi-line orders and idempotency keys
+-- Guarded because ddl-auto=update may already have created these objects
+-- ========================================
+
+-- Multi-line orders leave orders.product_id empty
+ALTER TABLE orders ALTER COLUMN product_id BIGINT NULL;
+
+IF OBJECT_ID('order_lines_seq', 'SO') IS NULL
+    CREATE SEQUENCE order_lines_seq START WITH 1 INCREMENT BY 50;
+
+IF OBJECT_ID('order_lines', 'U') IS NULL
+    CREATE TABLE order_lines (
+        id BIGINT PRIMARY KEY,
+        order_id BIGINT NOT NULL REFERENCES orders(id),
+        product_id BIGINT NOT NULL REFERENCES products(id),
+        quantity INT NOT NULL,
+        unit_price NUMERIC(10,2) NOT NULL,
+        line_total NUMERIC(10,2) NOT NULL
+    );
+
+IF OBJECT_ID('idempotency_keys', 'U') IS NULL
+    CREATE TABLE idempotency_keys (
+        idempotency_key VARCHAR(100) PRIMARY KEY,
+        request_hash VARCHAR(64) NOT NULL,
+        response_body VARCHAR(MAX) NOT NULL,
+        created_at DATETIME2(6) NOT NULL,
+        expires_at DATETIME2(6) NOT NULL
+    );
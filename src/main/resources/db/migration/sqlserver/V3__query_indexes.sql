@@ -0,0 +1,32 @@
+-- ========================================
+-- Secondary indexes, one per repository query
+-- ========================================
+
+-- ProductRepository.findByName, findByNameIn (catalog import)
+CREATE INDEX idx_products_name ON products (name);
+
+-- ProductRepository.findByCategory, findAvailableProductsByCategory
+CREATE INDEX idx_products_category_availability ON products (category, active, stock_quantity);
+
+-- ProductRepository.findByActiveTrue, findAvailableProducts
+CREATE INDEX idx_products_availability ON products (active, stock_quantity);
+
+-- OrderRepository.findByCustomerEmail, findByCustomerEmailOrderByCreatedAtDesc (and its count query),
+-- findHistoryByCustomerEmailOrderByCreatedAtDesc; INCLUDE covers the order-history columns
+CREATE INDEX idx_orders_customer_email_created_at ON orders (customer_email, created_at DESC)
+    INCLUDE (quantity, total_amount, status);
+
+-- OrderRepository.findByStatus
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at DESC);
+
+-- OrderRepository.findOrdersByDateRange, findAll sorted by createdAt (/api/orders/paginated)
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+
+-- Foreign keys: order lookups by product, line fetches by order
+CREATE INDEX idx_orders_product_id ON orders (product_id);
+CREATE INDEX idx_order_lines_order_id ON order_lines (order_id)
+    INCLUDE (product_id, quantity, unit_price, line_total);
+CREATE INDEX idx_order_lines_product_id ON order_lines (product_id);
+
+-- IdempotencyRecordRepository.deleteExpired
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
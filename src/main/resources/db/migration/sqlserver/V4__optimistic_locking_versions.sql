@@ -0,0 +1,8 @@
+-- ========================================
+-- Optimistic-locking version columns (JPA @Version)
+-- Existing rows start at version 0
+-- ========================================
+
+ALTER TABLE products ADD version BIGINT NOT NULL CONSTRAINT df_products_version DEFAULT 0;
+
+ALTER TABLE orders ADD version BIGINT NOT NULL CONSTRAINT df_orders_version DEFAULT 0;
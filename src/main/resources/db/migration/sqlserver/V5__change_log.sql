@@ -0,0 +1,17 @@
+-- ========================================
+-- Change feed (GET /api/changes)
+-- Append-only; rows older than change-feed.retention-hours are pruned
+-- ========================================
+
+CREATE SEQUENCE change_log_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE change_log (
+    seq BIGINT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at DATETIME2(6) NOT NULL
+);
+
+-- ChangeLogRepository.findMaxSeqChangedBefore (retention)
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
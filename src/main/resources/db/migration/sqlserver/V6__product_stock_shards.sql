@@ -0,0 +1,14 @@
+-- ========================================
+-- Sharded inventory for hot products (PUT /api/products/{id}/stock-shards)
+-- A sharded product keeps stock_quantity at 0 and its stock split across
+-- stock_shards rows of product_stock_shards
+-- ========================================
+
+ALTER TABLE products ADD stock_shards INT NOT NULL CONSTRAINT df_products_stock_shards DEFAULT 0;
+
+CREATE TABLE product_stock_shards (
+    product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    shard INT NOT NULL,
+    quantity INT NOT NULL,
+    PRIMARY KEY (product_id, shard)
+);
@@ -0,0 +1,43 @@
+-- ========================================
+-- Order archive (order.archive.enabled)
+-- DELIVERED and CANCELLED orders older than order.archive.min-age-days are moved
+-- here from orders and order_lines. Rows are clustered by creation month
+-- (created_month = yyyymm), so each month is contiguous and can be mapped onto a
+-- partition scheme or purged as a unit
+-- ========================================
+
+-- OrderArchiveRepository.findArchivableIds: cutoff on the time an order reached its final status
+CREATE INDEX idx_orders_status_updated_at ON orders (status, updated_at);
+
+CREATE TABLE orders_archive (
+    created_month INT NOT NULL,
+    id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    customer_name VARCHAR(100) NOT NULL,
+    customer_email VARCHAR(100) NOT NULL,
+    product_id BIGINT REFERENCES products(id),
+    quantity INT NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    notes VARCHAR(500),
+    created_at DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at DATETIME2(6) NOT NULL,
+    PRIMARY KEY (created_month, id)
+);
+
+-- OrderArchiveRepository.findArchivedById, findArchivedByOrderNumber
+CREATE UNIQUE INDEX ux_orders_archive_id ON orders_archive (id);
+CREATE UNIQUE INDEX ux_orders_archive_order_number ON orders_archive (order_number);
+
+CREATE TABLE order_lines_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INT NOT NULL,
+    unit_price NUMERIC(10,2) NOT NULL,
+    line_total NUMERIC(10,2) NOT NULL
+);
+
+CREATE INDEX idx_order_lines_archive_order_id ON order_lines_archive (order_id);
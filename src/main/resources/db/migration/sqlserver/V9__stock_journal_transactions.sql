@@ -0,0 +1,13 @@
+-- ========================================
+-- Write-behind stock (inventory.write-behind.enabled)
+-- One row per transaction that reserved or set write-behind stock, inserted by that
+-- transaction, so a row exists exactly when the transaction committed. Deleted by the
+-- flush that writes the transaction's changes to products; on startup, the journal
+-- entries of the transactions still listed here are replayed
+-- ========================================
+
+CREATE TABLE stock_journal_transactions (
+    journal_id VARCHAR(100) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    PRIMARY KEY (journal_id, transaction_id)
+);
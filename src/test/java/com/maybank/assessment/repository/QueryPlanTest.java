@@ -0,0 +1,287 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.Order;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every {@link OrderRepository} and {@link ProductRepository} query, including the
+ * JDBC fragments, against a seeded H2 database, captures each statement it executes with
+ * its parameters and fails if the plan H2 chooses for any of them scans a whole table
+ * or index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        // Hibernate resolves a bare resource name through the test class loader
+        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml",
+        "logging.file.name="
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int CATEGORIES = 40;
+    private static final int CUSTOMERS = 500;
+    private static final int ORDERS = 20_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // A leading wildcard LIKE cannot seek any B-tree index; keyword search needs a
+    // full-text index, which is out of scope here
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of("ProductRepository.searchProducts");
+
+    // A plan comment naming a table or index without a condition (such as
+    // "/* PUBLIC.ORDERS.tableScan */") reads every row
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* [\\w.\"]+ \\*/");
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                            ? capturing(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private record Statement(String query, String sql, Map<Integer, Object> parameters) {
+    }
+
+    private static class Recording {
+        private final List<Statement> statements = new ArrayList<>();
+        private String query;
+    }
+
+    @BeforeAll
+    void seed() {
+        Timestamp now = Timestamp.valueOf(START.plusDays(400));
+        List<Object[]> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(new Object[]{"Product " + i, "Description of product " + i, 10 + i % 90, i % 10 == 0 ? 0 : 100,
+                    "category-" + i % CATEGORIES, i % 20 != 0, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, stock_quantity, category, active, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", products);
+
+        Order.OrderStatus[] statuses = Order.OrderStatus.values();
+        List<Object[]> orders = new ArrayList<>(ORDERS);
+        for (int i = 1; i <= ORDERS; i++) {
+            Timestamp created = Timestamp.valueOf(START.plusMinutes(i * 30L));
+            orders.add(new Object[]{"ORD-" + i, "Customer " + i % CUSTOMERS, "customer" + i % CUSTOMERS + "@example.com",
+                    i % PRODUCTS + 1, 1, 10, statuses[i % statuses.length].name(), created,
+                    Timestamp.valueOf(created.toLocalDateTime().plusDays(2))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, customer_name, customer_email, product_id, "
+                + "quantity, total_amount, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        List<Statement> statements = capture(() -> {
+            PageRequest page = PageRequest.of(1, 20);
+            LocalDateTime day = START.plusDays(30);
+
+            run("OrderRepository.findByOrderNumber", () -> orderRepository.findByOrderNumber("ORD-42"));
+            run("OrderRepository.findByCustomerEmail", () -> orderRepository.findByCustomerEmail("customer7@example.com"));
+            run("OrderRepository.findByStatus", () -> orderRepository.findByStatus(Order.OrderStatus.SHIPPED, page));
+            run("OrderRepository.findByCustomerEmailOrderByCreatedAtDesc",
+                    () -> orderRepository.findByCustomerEmailOrderByCreatedAtDesc("customer7@example.com", page));
+            run("OrderRepository.findHistoryByIdGreaterThanOrderByIdAsc",
+                    () -> orderRepository.findHistoryByIdGreaterThanOrderByIdAsc(1_000L, Limit.of(100)));
+            run("OrderRepository.findHistoryByIdIn", () -> orderRepository.findHistoryByIdIn(List.of(1L, 2L, 3L)));
+            run("OrderRepository.findHistoryByCustomerEmailOrderByCreatedAtDesc",
+                    () -> orderRepository.findHistoryByCustomerEmailOrderByCreatedAtDesc("customer7@example.com", page));
+            run("OrderRepository.findOrdersByDateRange",
+                    () -> orderRepository.findOrdersByDateRange(day, day.plusDays(1)));
+            List<Order.OrderStatus> finished = List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+            run("OrderRepository.findArchivableIds",
+                    () -> orderRepository.findArchivableIds(finished, START.plusDays(60), 100));
+            run("OrderRepository.archive", () -> orderRepository.archive(
+                    orderRepository.findArchivableIds(finished, START.plusDays(10), 10), finished, LocalDateTime.now()));
+            run("OrderRepository.findArchivedById", () -> orderRepository.findArchivedById(1L));
+            run("OrderRepository.findArchivedByOrderNumber", () -> orderRepository.findArchivedByOrderNumber("ORD-4"));
+
+            run("ProductRepository.findByName", () -> productRepository.findByName("Product 17"));
+            run("ProductRepository.findByNameIn",
+                    () -> productRepository.findByNameIn(List.of("Product 17", "Product 18")));
+            run("ProductRepository.findByCategory", () -> productRepository.findByCategory("category-3"));
+            run("ProductRepository.findByCategory(Pageable)",
+                    () -> productRepository.findByCategory("category-3", page));
+            run("ProductRepository.findByIdGreaterThanOrderByIdAsc",
+                    () -> productRepository.findByIdGreaterThanOrderByIdAsc(100L, Limit.of(100)));
+            run("ProductRepository.findByActiveTrue", () -> productRepository.findByActiveTrue(page));
+            run("ProductRepository.findAvailableProducts", () -> productRepository.findAvailableProducts(page));
+            run("ProductRepository.findAvailableProductsByCategory",
+                    () -> productRepository.findAvailableProductsByCategory("category-3", page));
+            run("ProductRepository.searchProducts", () -> productRepository.searchProducts("17", page));
+            run("ProductRepository.decrementStock",
+                    () -> productRepository.decrementStock(new TreeMap<>(Map.of(1L, 1, 2L, 1))));
+            run("ProductRepository.replaceShards", () -> productRepository.replaceShards(5L, new int[]{10, 10}));
+            run("ProductRepository.decrementShard", () -> productRepository.decrementShard(5L, 1, 1));
+            run("ProductRepository.lockShards", () -> productRepository.lockShards(5L));
+            run("ProductRepository.updateShards", () -> productRepository.updateShards(5L, new int[]{8, 8}));
+            run("ProductRepository.sumShards", () -> productRepository.sumShards(List.of(5L, 6L)));
+            run("ProductRepository.findUnshardedStock", () -> productRepository.findUnshardedStock(1L));
+            run("ProductRepository.writeStock", () -> productRepository.writeStock(Map.of(1L, 50, 2L, 50)));
+            run("ProductRepository.saveJournalCheckpoint", () -> productRepository.saveJournalCheckpoint("plans", 7));
+            run("ProductRepository.findJournalCheckpoint", () -> productRepository.findJournalCheckpoint("plans"));
+            run("ProductRepository.insertJournalTransaction",
+                    () -> productRepository.insertJournalTransaction("plans", 7));
+            run("ProductRepository.findJournalTransactions", () -> productRepository.findJournalTransactions("plans"));
+            run("ProductRepository.deleteJournalTransactions",
+                    () -> productRepository.deleteJournalTransactions("plans", List.of(7L)));
+        });
+        assertThat(statements).isNotEmpty();
+
+        List<String> fullScans = new ArrayList<>();
+        for (Statement statement : statements) {
+            String plan = explain(statement);
+            Matcher matcher = FULL_SCAN.matcher(plan);
+            if (matcher.find() && !FULL_SCAN_ALLOWED.contains(statement.query())) {
+                fullScans.add(statement.query() + ": " + matcher.group() + " in " + plan);
+            }
+        }
+        assertThat(fullScans).as("queries that scan a whole table or index").isEmpty();
+    }
+
+    /**
+     * Runs the queries in one transaction that is rolled back, recording the statements
+     * they execute on this thread.
+     */
+    private List<Statement> capture(Runnable queries) {
+        Recording recording = new Recording();
+        RECORDING.set(recording);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                queries.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            RECORDING.remove();
+        }
+        return recording.statements;
+    }
+
+    private void run(String query, Runnable call) {
+        RECORDING.get().query = query;
+        call.run();
+    }
+
+    private String explain(Statement statement) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    StringBuilder text = new StringBuilder();
+                    while (plan.next()) {
+                        text.append(plan.getString(1)).append('\n');
+                    }
+                    return text.toString();
+                }
+            }
+        });
+    }
+
+    private static DataSource capturing(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return method.getName().equals("getConnection") ? capturing((Connection) result) : result;
+        });
+    }
+
+    private static Connection capturing(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return method.getName().equals("prepareStatement") && RECORDING.get() != null
+                    ? capturing((PreparedStatement) result, (String) args[0])
+                    : result;
+        });
+    }
+
+    private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, args[1]);
+            } else if (name.equals("addBatch") || name.startsWith("execute") && !name.equals("executeBatch")) {
+                Recording recording = RECORDING.get();
+                if (recording != null) {
+                    recording.statements.add(new Statement(recording.query, sql, new TreeMap<>(parameters)));
+                }
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}